@@ -0,0 +1,19 @@
+package com.veterinary.auth.application;
+
+import java.util.UUID;
+
+/**
+ * An access token and the refresh token that can later replace it.
+ *
+ * @param credentialId the credential both tokens were issued for
+ * @param accessToken  the signed JWT
+ * @param refreshToken the raw, opaque refresh token (only ever sent to the client)
+ */
+public record IssuedTokens(UUID credentialId, String accessToken, String refreshToken) {
+
+    @Override
+    public String toString() {
+        // Never log raw tokens
+        return "IssuedTokens[credentialId=" + credentialId + "]";
+    }
+}
@@ -0,0 +1,218 @@
+package com.veterinary.auth.application;
+
+import com.veterinary.auth.domain.model.Credential;
+import com.veterinary.auth.domain.repository.CredentialRepository;
+import com.veterinary.auth.infrastructure.observability.CredentialLookupEvent;
+import com.veterinary.auth.infrastructure.observability.LastLoginPersistEvent;
+import com.veterinary.auth.infrastructure.security.Argon2Hasher;
+import com.veterinary.auth.infrastructure.security.Argon2WorkScheduler;
+import com.veterinary.auth.infrastructure.security.Argon2WorkScheduler.Lane;
+import com.veterinary.auth.infrastructure.security.PasswordHashFormat;
+import io.grpc.Deadline;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Clock;
+import java.util.UUID;
+
+/**
+ * Email/password login: the work behind {@code ValidateCredential}.
+ *
+ * <h2>Pipeline</h2>
+ * <pre>
+ * ┌──────────────────┐   ┌─────────────┐   ┌──────────────┐   ┌──────────┐   ┌────────────────────┐
+ * │ credential lookup│──►│hash parse + │──►│ needsRehash  │──►│ JWT sign │──►│ lastLoginAt persist│
+ * │ (replica/primary)│   │Argon2 verify│   │              │   │          │   │                    │
+ * └──────────────────┘   └─────────────┘   └──────────────┘   └──────────┘   └────────────────────┘
+ *   event loop             argon2 worker      argon2 worker     worker pool    event loop
+ * </pre>
+ *
+ * <p>
+ * Every phase emits a JFR event (see
+ * {@link com.veterinary.auth.infrastructure.observability.LoginPhaseEvent}).
+ * Argon2 runs in the {@link Argon2WorkScheduler}'s interactive lane, ahead of
+ * registrations and rehashes, and is dropped if the caller's deadline can no
+ * longer be met. The time it spends queued is recorded too.</p>
+ *
+ * <h2>Hash Formats</h2>
+ * <p>
+ * A credential's hash is either a PHC string or the binary format, and both
+ * are verified. With {@code auth.password-hash.format=binary}, a successful
+ * login on a PHC row converts it in the background: the conversion is pure
+ * re-encoding, no Argon2 involved. Rehashes are written in the configured
+ * format too.</p>
+ *
+ * <h2>Failures</h2>
+ * <p>
+ * Unknown email, wrong password, non-local account and inactive account all
+ * come back as {@code null}, so the caller can't tell them apart. Account status
+ * is only checked after the password matches.</p>
+ *
+ * <p>
+ * Response time must not tell them apart either. An unknown or non-local email
+ * still pays one Argon2 verify, against a hash of a random password computed at
+ * startup, in the same lane and format as a real one. So it queues, sheds and
+ * takes as long as a wrong password does.</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class LoginService {
+
+    private static final Logger LOG = Logger.getLogger(LoginService.class);
+
+    private final CredentialRepository credentials;
+    private final Argon2Hasher hasher;
+    private final Argon2WorkScheduler scheduler;
+    private final RefreshTokenService refreshTokens;
+    private final Clock clock;
+    private final PasswordHashFormat hashFormat;
+
+    /**
+     * Hash of a random password, verified against when there is no credential
+     * to verify. Nothing ever matches it.
+     */
+    private final Credential dummy;
+
+    public LoginService(
+            CredentialRepository credentials,
+            Argon2Hasher hasher,
+            Argon2WorkScheduler scheduler,
+            RefreshTokenService refreshTokens,
+            Clock clock,
+            @ConfigProperty(name = "auth.password-hash.format", defaultValue = "phc") PasswordHashFormat hashFormat) {
+        this.credentials = credentials;
+        this.hasher = hasher;
+        this.scheduler = scheduler;
+        this.refreshTokens = refreshTokens;
+        this.clock = clock;
+        this.hashFormat = hashFormat;
+
+        String unguessable = UUID.randomUUID().toString();
+        Credential.CredentialBuilder builder = Credential.builder();
+        this.dummy = (hashFormat == PasswordHashFormat.BINARY
+                ? builder.passwordHashBinary(hasher.hashBinary(unguessable))
+                : builder.passwordHash(hasher.hash(unguessable)))
+                .build();
+    }
+
+    /**
+     * Authenticates an email/password pair.
+     *
+     * @param email    the login email
+     * @param password the plain-text password
+     * @param deadline the gRPC deadline of the call, or {@code null} for none
+     * @return an access token and refresh token, or {@code null} if the login
+     * is rejected
+     */
+    public Uni<IssuedTokens> login(String email, String password, Deadline deadline) {
+        CredentialLookupEvent lookup = new CredentialLookupEvent();
+        lookup.begin();
+
+        return credentials.findByEmail(email)
+                .invoke(credential -> {
+                    lookup.end();
+                    if (lookup.shouldCommit()) {
+                        lookup.setCredentialId(credential == null ? null : credential.getId());
+                        lookup.found = credential != null;
+                        lookup.commit();
+                    }
+                })
+                .flatMap(credential -> credential == null || !credential.isLocalAuth()
+                        ? reject(password, deadline)
+                        : verify(credential, password, deadline));
+    }
+
+    /**
+     * Rejects a login with no local credential behind it, after the same Argon2
+     * work a wrong password costs.
+     */
+    private Uni<IssuedTokens> reject(String password, Deadline deadline) {
+        return scheduler.submit(Lane.INTERACTIVE, deadline, waitedNanos -> matches(dummy, password, waitedNanos))
+                .emitOn(Infrastructure.getDefaultWorkerPool())
+                .map(ignored -> null);
+    }
+
+    private Uni<IssuedTokens> verify(Credential credential, String password, Deadline deadline) {
+        return scheduler.submit(Lane.INTERACTIVE, deadline, waitedNanos -> matches(credential, password, waitedNanos))
+                // Free the Argon2 thread before signing and persisting
+                .emitOn(Infrastructure.getDefaultWorkerPool())
+                .flatMap(matches -> {
+                    if (!matches || !credential.canLogin()) {
+                        return Uni.createFrom().nullItem();
+                    }
+                    boolean upgrade = needsRehash(credential);
+
+                    return refreshTokens.issue(credential)
+                            .call(() -> persistLastLogin(credential))
+                            .invoke(() -> {
+                                if (upgrade) {
+                                    rehash(credential, password);
+                                } else if (hashFormat == PasswordHashFormat.BINARY
+                                        && credential.getPasswordHashBinary() == null) {
+                                    convertToBinary(credential);
+                                }
+                            });
+                });
+    }
+
+    private boolean matches(Credential credential, String password, long waitedNanos) {
+        return credential.getPasswordHashBinary() != null
+                ? hasher.verify(credential.getPasswordHashBinary(), password, credential.getId(), waitedNanos)
+                : hasher.verify(credential.getPasswordHash(), password, credential.getId(), waitedNanos);
+    }
+
+    private boolean needsRehash(Credential credential) {
+        return credential.getPasswordHashBinary() != null
+                ? hasher.needsRehash(credential.getPasswordHashBinary(), credential.getId())
+                : hasher.needsRehash(credential.getPasswordHash(), credential.getId());
+    }
+
+    private Uni<Credential> persistLastLogin(Credential credential) {
+        LastLoginPersistEvent event = new LastLoginPersistEvent();
+        event.begin();
+
+        return credentials.update(credential, credential.mutate(clock).withLastLogin().apply())
+                .invoke(() -> {
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.setCredentialId(credential.getId());
+                        event.commit();
+                    }
+                });
+    }
+
+    /**
+     * Upgrades an outdated hash after the response is on its way. Failure only
+     * means we try again on the next login.
+     */
+    private void rehash(Credential credential, String password) {
+        scheduler.submit(Lane.BACKGROUND, null, ignored -> hashFormat == PasswordHashFormat.BINARY
+                        ? credential.mutate(clock).withPasswordHash(hasher.hashBinary(password)).apply()
+                        : credential.mutate(clock).withPasswordHash(hasher.hash(password)).apply())
+                .flatMap(upgraded -> credentials.replacePasswordHash(credential, upgraded))
+                .subscribe().with(
+                        ignored -> { },
+                        failure -> LOG.warnf(failure, "Rehash failed for credential %s",
+                                credential.getId()));
+    }
+
+    /**
+     * Moves a PHC row to the binary format. Same hash, so no Argon2 and no
+     * outbox entry; failure only means we try again on the next login.
+     */
+    private void convertToBinary(Credential credential) {
+        Credential converted = credential.mutate(clock)
+                .withPasswordHash(Argon2Hasher.toBinary(credential.getPasswordHash()))
+                .apply();
+
+        credentials.replacePasswordHash(credential, converted)
+                .subscribe().with(
+                        ignored -> { },
+                        failure -> LOG.warnf(failure, "Hash format conversion failed for credential %s",
+                                credential.getId()));
+    }
+}
@@ -0,0 +1,145 @@
+package com.veterinary.auth.application;
+
+import com.veterinary.auth.domain.model.Credential;
+import com.veterinary.auth.domain.model.RefreshToken;
+import com.veterinary.auth.domain.repository.CredentialRepository;
+import com.veterinary.auth.domain.repository.RefreshTokenRepository;
+import com.veterinary.auth.infrastructure.id.UuidV7;
+import com.veterinary.auth.infrastructure.security.AccessTokenIssuer;
+import com.veterinary.auth.infrastructure.security.RefreshTokenCodec;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Issues, rotates and revokes refresh tokens.
+ *
+ * <p>
+ * A successful {@code ValidateCredential} calls {@link #issue(Credential)} once
+ * the password has been verified. From then on the client calls
+ * {@code RefreshAccessToken}, which goes through {@link #exchange(String)}: one
+ * indexed {@code UPDATE}, one credential lookup by primary key, one JWT
+ * signature. No Argon2.</p>
+ *
+ * <h2>Exchange Flow</h2>
+ * <pre>
+ * raw token ──SHA-256──► consume(hash)
+ *                          │
+ *              ┌───────────┴───────────┐
+ *           row found               no row
+ *              │                       │
+ *     credential.canLogin()?     findByHash(hash)
+ *              │                       │
+ *     rotate + sign JWT       already revoked? ──► revokeFamily (replay)
+ * </pre>
+ *
+ * <p>
+ * Suspension, soft deletion and password changes revoke every live token of
+ * the credential, in the transaction of the change itself (see
+ * {@link CredentialRepository#update}). Exchange re-checks
+ * {@link Credential#canLogin()} as well.</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokens;
+    private final CredentialRepository credentials;
+    private final RefreshTokenCodec codec;
+    private final AccessTokenIssuer accessTokenIssuer;
+    private final Clock clock;
+    private final Duration lifetime;
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokens,
+            CredentialRepository credentials,
+            RefreshTokenCodec codec,
+            AccessTokenIssuer accessTokenIssuer,
+            Clock clock,
+            @ConfigProperty(name = "auth.refresh-token.lifetime", defaultValue = "P30D") Duration lifetime) {
+        this.refreshTokens = refreshTokens;
+        this.credentials = credentials;
+        this.codec = codec;
+        this.accessTokenIssuer = accessTokenIssuer;
+        this.clock = clock;
+        this.lifetime = lifetime;
+    }
+
+    /**
+     * Starts a new session (rotation family) for a freshly authenticated
+     * credential.
+     *
+     * @param credential the credential whose password was just verified
+     * @return the access token and the first refresh token of the family
+     */
+    public Uni<IssuedTokens> issue(Credential credential) {
+        Instant now = clock.instant();
+        String raw = codec.generate();
+        RefreshToken token = RefreshToken.builder()
+                .id(UuidV7.generate())
+                .credentialId(credential.getId())
+                .familyId(UuidV7.generate())
+                .tokenHash(codec.digest(raw))
+                .issuedAt(now)
+                .expiresAt(now.plus(lifetime))
+                .build()
+                .validate();
+
+        return refreshTokens.insert(token)
+                .map(stored -> new IssuedTokens(
+                        credential.getId(), accessTokenIssuer.issue(credential, now), raw));
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a rotated refresh
+     * token.
+     *
+     * @param rawToken the refresh token presented by the client
+     * @return the new tokens, or {@code null} if the token is invalid, spent,
+     * expired, or its credential can no longer log in
+     */
+    public Uni<IssuedTokens> exchange(String rawToken) {
+        Instant now = clock.instant();
+        byte[] hash = codec.digest(rawToken);
+
+        return refreshTokens.consume(hash, now)
+                .flatMap(consumed -> consumed == null
+                        ? handleRejected(hash, now)
+                        : rotate(consumed, now));
+    }
+
+    private Uni<IssuedTokens> rotate(RefreshToken consumed, Instant now) {
+        return credentials.findById(consumed.getCredentialId())
+                .flatMap(credential -> {
+                    if (credential == null || !credential.canLogin()) {
+                        return refreshTokens.revokeFamily(consumed.getFamilyId(), now)
+                                .replaceWith((IssuedTokens) null);
+                    }
+
+                    String raw = codec.generate();
+                    RefreshToken successor = consumed.rotate(
+                            UuidV7.generate(), codec.digest(raw), now, now.plus(lifetime));
+
+                    return refreshTokens.insert(successor)
+                            .map(stored -> new IssuedTokens(
+                                    credential.getId(), accessTokenIssuer.issue(credential, now), raw));
+                });
+    }
+
+    private Uni<IssuedTokens> handleRejected(byte[] hash, Instant now) {
+        return refreshTokens.findByHash(hash)
+                .flatMap(token -> {
+                    // A spent token showing up again means it was copied: end the whole chain
+                    if (token != null && token.getRevokedAt() != null) {
+                        return refreshTokens.revokeFamily(token.getFamilyId(), now)
+                                .replaceWith((IssuedTokens) null);
+                    }
+                    return Uni.createFrom().nullItem();
+                });
+    }
+}
@@ -0,0 +1,103 @@
+package com.veterinary.auth.application;
+
+import auth.Auth.AuthProvider;
+import com.veterinary.auth.domain.model.Credential;
+import com.veterinary.auth.domain.repository.CredentialRepository;
+import com.veterinary.auth.infrastructure.id.UuidV7;
+import com.veterinary.auth.infrastructure.security.Argon2Hasher;
+import com.veterinary.auth.infrastructure.security.Argon2WorkScheduler;
+import com.veterinary.auth.infrastructure.security.Argon2WorkScheduler.Lane;
+import com.veterinary.auth.infrastructure.security.PasswordHashFormat;
+import io.grpc.Deadline;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Creates credentials: the work behind {@code CreateCredential}, the first step
+ * of the user service's registration saga.
+ *
+ * <pre>
+ * ┌────────────────────┐   ┌──────────────────────────┐
+ * │ Argon2 hash (LOCAL)│──►│ INSERT ... ON CONFLICT   │
+ * │ registration lane  │   │ DO NOTHING               │
+ * └────────────────────┘   └──────────────────────────┘
+ *   argon2 worker            event loop
+ * </pre>
+ *
+ * <p>
+ * Hashing runs in the {@link Argon2WorkScheduler}'s registration lane: behind
+ * logins, ahead of background rehashes. OAuth credentials skip it. New hashes
+ * are written in the configured {@code auth.password-hash.format}.</p>
+ *
+ * <p>
+ * A taken email or OAuth subject comes back as {@code null}. Retries of the
+ * same saga step are deduplicated before they get here, see
+ * {@link com.veterinary.auth.infrastructure.grpc.IdempotencyCache}.</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class RegistrationService {
+
+    private final CredentialRepository credentials;
+    private final Argon2Hasher hasher;
+    private final Argon2WorkScheduler scheduler;
+    private final Clock clock;
+    private final PasswordHashFormat hashFormat;
+
+    public RegistrationService(
+            CredentialRepository credentials,
+            Argon2Hasher hasher,
+            Argon2WorkScheduler scheduler,
+            Clock clock,
+            @ConfigProperty(name = "auth.password-hash.format", defaultValue = "phc") PasswordHashFormat hashFormat) {
+        this.credentials = credentials;
+        this.hasher = hasher;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.hashFormat = hashFormat;
+    }
+
+    /**
+     * Registers a new credential.
+     *
+     * @param email       the login email, in any case
+     * @param password    the plain-text password (LOCAL only, ignored otherwise)
+     * @param provider    the authentication provider
+     * @param authSubject the provider's user ID (OAuth only, ignored for LOCAL)
+     * @param deadline    the gRPC deadline of the call, or {@code null} for none
+     * @return the stored credential, or {@code null} if the email or OAuth
+     * subject is already registered
+     * @throws IllegalArgumentException if the credential is invalid (e.g. an
+     * OAuth credential without subject)
+     */
+    public Uni<Credential> register(String email, String password, AuthProvider provider,
+            String authSubject, Deadline deadline) {
+        Instant now = clock.instant();
+        Credential.CredentialBuilder builder = Credential.builder()
+                .id(UuidV7.generate())
+                .email(email.toLowerCase(Locale.ROOT))
+                .authProvider(provider)
+                .createdAt(now)
+                .updatedAt(now);
+
+        if (provider != AuthProvider.LOCAL) {
+            return Uni.createFrom().item(() -> builder.authSubject(authSubject).build().validate())
+                    .flatMap(credentials::insert);
+        }
+
+        return scheduler.submit(Lane.REGISTRATION, deadline, ignored -> hashFormat == PasswordHashFormat.BINARY
+                        ? builder.passwordHashBinary(hasher.hashBinary(password))
+                        : builder.passwordHash(hasher.hash(password)))
+                // Free the Argon2 thread before inserting
+                .emitOn(Infrastructure.getDefaultWorkerPool())
+                .map(hashed -> hashed.build().validate())
+                .flatMap(credentials::insert);
+    }
+}
@@ -0,0 +1,140 @@
+package com.veterinary.auth.application;
+
+import com.veterinary.auth.infrastructure.security.JwtRevocationList;
+import com.veterinary.auth.infrastructure.security.VerifiedTokenCache;
+import com.veterinary.auth.infrastructure.security.VerifiedTokenCache.VerifiedToken;
+import io.smallrye.jwt.auth.principal.JWTParser;
+import io.smallrye.jwt.auth.principal.ParseException;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Answers "is this JWT valid, and whose is it?" for downstream services.
+ *
+ * <p>
+ * The first time a token is seen, SmallRye JWT checks its signature, issuer and
+ * expiry (configured via {@code mp.jwt.verify.*}). Valid tokens go into the
+ * {@link VerifiedTokenCache}; every later introspection of the same token until
+ * its {@code exp} is a digest plus a map lookup.</p>
+ *
+ * <pre>
+ * token ──► cache hit? ──yes──────────────────────┐
+ *              │                                  │
+ *              no                                 │
+ *              ▼                                  │
+ *         JWTParser.parse (signature + iss + exp) │
+ *              │                                  │
+ *         valid? ──yes──► cache.put ──────────────┤
+ *              │                                  ▼
+ *              no ──► null             revoked? ──yes──► null (inactive)
+ *                                                 │
+ *                                                 no ──► claims
+ * </pre>
+ *
+ * <p>
+ * The {@link JwtRevocationList} check runs on cache hits too. The cache drops
+ * a credential's entries when its sessions end, but a verification already in
+ * flight can put one back right after; the revocation list closes that gap.</p>
+ *
+ * <p>
+ * Invalid tokens are deliberately not cached: an attacker could otherwise flood
+ * the cache with garbage and evict legitimate entries.</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class TokenIntrospectionService {
+
+    private final JWTParser parser;
+    private final VerifiedTokenCache cache;
+    private final JwtRevocationList revocations;
+    private final Clock clock;
+
+    public TokenIntrospectionService(JWTParser parser, VerifiedTokenCache cache,
+            JwtRevocationList revocations, Clock clock) {
+        this.parser = parser;
+        this.cache = cache;
+        this.revocations = revocations;
+        this.clock = clock;
+    }
+
+    /**
+     * Introspects a single token.
+     *
+     * @param token the compact JWT
+     * @return the verified claims, or {@code null} if the token is not active
+     */
+    public VerifiedToken introspect(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        Instant now = clock.instant();
+        VerifiedToken cached = cache.get(token, now);
+        if (cached != null) {
+            return unlessRevoked(cached);
+        }
+
+        VerifiedToken verified = verify(token);
+        if (verified != null && now.isBefore(verified.expiresAt())) {
+            cache.put(token, verified);
+            return unlessRevoked(verified);
+        }
+        return null;
+    }
+
+    /**
+     * Introspects several tokens in one call.
+     *
+     * @param tokens the compact JWTs
+     * @return one entry per token, in the same order; {@code null} entries are
+     * inactive tokens
+     */
+    public List<VerifiedToken> introspectAll(List<String> tokens) {
+        List<VerifiedToken> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            results.add(introspect(token));
+        }
+        return results;
+    }
+
+    private VerifiedToken unlessRevoked(VerifiedToken verified) {
+        return revocations.isRevoked(verified.credentialId(), verified.issuedAt()) ? null : verified;
+    }
+
+    private VerifiedToken verify(String token) {
+        JsonWebToken jwt;
+        try {
+            jwt = parser.parse(token);
+        } catch (ParseException e) {
+            // Bad signature, wrong issuer or expired
+            return null;
+        }
+
+        // Signed by us but missing claims we always set: not one of our access tokens
+        String subject = jwt.getSubject();
+        if (subject == null || jwt.getName() == null
+                || jwt.getIssuedAtTime() <= 0 || jwt.getExpirationTime() <= 0) {
+            return null;
+        }
+
+        UUID credentialId;
+        try {
+            credentialId = UUID.fromString(subject);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        return new VerifiedToken(
+                credentialId,
+                jwt.getName(),
+                Instant.ofEpochSecond(jwt.getIssuedAtTime()),
+                Instant.ofEpochSecond(jwt.getExpirationTime()));
+    }
+}
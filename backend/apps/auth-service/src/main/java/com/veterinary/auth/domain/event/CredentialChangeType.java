@@ -0,0 +1,76 @@
+package com.veterinary.auth.domain.event;
+
+import com.veterinary.auth.domain.model.Credential;
+import com.veterinary.auth.domain.model.CredentialStatus;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The kinds of {@link Credential} changes other nodes need to hear about.
+ *
+ * <p>
+ * Each value corresponds to one of the mutation methods on {@link Credential}.
+ * {@link Credential#withLastLogin(java.time.Clock)} deliberately has no entry:
+ * it happens on every login and never invalidates anything.</p>
+ *
+ * @author Auth Service Team
+ */
+public enum CredentialChangeType {
+  /** {@link Credential#asSuspended(java.time.Clock)} */
+  SUSPENDED,
+  /** {@link Credential#asSoftDeleted(java.time.Clock)} */
+  SOFT_DELETED,
+  /** {@link Credential#asReactivated(java.time.Clock)} */
+  REACTIVATED,
+  /** {@link Credential#withPasswordHash(String, java.time.Clock)} */
+  PASSWORD_CHANGED,
+  /** {@link Credential#withVerifiedEmail(java.time.Clock)} */
+  EMAIL_VERIFIED;
+
+  /**
+   * Checks whether this change ends the user's existing sessions.
+   *
+   * @return true for suspension, soft deletion and password changes
+   */
+  public boolean endsSessions() {
+    return this == SUSPENDED || this == SOFT_DELETED || this == PASSWORD_CHANGED;
+  }
+
+  /**
+   * Classifies the difference between two states of the same credential.
+   *
+   * <h3>Example</h3>
+   * <pre>{@code
+   * Credential updated = credential.asSuspended(clock);
+   * CredentialChangeType.between(credential, updated);  // [SUSPENDED]
+   * }</pre>
+   *
+   * @param previous the state before the mutation
+   * @param updated  the state after the mutation
+   * @return the changes, empty if nothing broadcast-worthy changed
+   */
+  public static Set<CredentialChangeType> between(Credential previous, Credential updated) {
+    Set<CredentialChangeType> changes = EnumSet.noneOf(CredentialChangeType.class);
+
+    if (previous.getStatus() != updated.getStatus()
+        || !Objects.equals(previous.getDeletedAt(), updated.getDeletedAt())) {
+      if (updated.getStatus() == CredentialStatus.DELETED || updated.getDeletedAt() != null) {
+        changes.add(SOFT_DELETED);
+      } else if (updated.getStatus() == CredentialStatus.SUSPENDED) {
+        changes.add(SUSPENDED);
+      } else if (updated.getStatus() == CredentialStatus.ACTIVE) {
+        changes.add(REACTIVATED);
+      }
+    }
+    if (!updated.hasSamePasswordHashAs(previous)) {
+      changes.add(PASSWORD_CHANGED);
+    }
+    if (previous.getEmailVerifiedAt() == null && updated.getEmailVerifiedAt() != null) {
+      changes.add(EMAIL_VERIFIED);
+    }
+
+    return changes;
+  }
+}
@@ -0,0 +1,23 @@
+package com.veterinary.auth.domain.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A credential change recorded in the {@code credential_outbox} table.
+ *
+ * <p>
+ * Fired as a CDI event on every node, including the one that made the change,
+ * once the change is committed. Observers must be idempotent: after a listener
+ * reconnect, the same event may be delivered twice.</p>
+ *
+ * @param sequence     the outbox sequence number (monotonic, may have gaps)
+ * @param credentialId the credential that changed
+ * @param type         what changed
+ * @param occurredAt   when the change was written (outbox {@code occurred_at},
+ *                     millisecond precision)
+ */
+public record CredentialChanged(long sequence, UUID credentialId, CredentialChangeType type,
+                                Instant occurredAt) {
+
+}
@@ -7,8 +7,13 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
+import java.time.Clock;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -18,7 +23,8 @@ import java.util.UUID;
  * This class maps directly to the {@code credentials} table in the database and serves
  * as the central piece of our authentication domain. It's designed to be immutable,
  * meaning once created, you can't change its fields directly. Instead, you create
- * modified copies using the {@code toBuilder()} pattern.</p>
+ * modified copies with {@link #mutate(Clock)} or one of the single-change
+ * methods built on it.</p>
  *
  * <h2>Why Immutability?</h2>
  * <p>
@@ -31,7 +37,7 @@ import java.util.UUID;
  * credential.setLastLoginAt(Instant.now());  // ❌ Could cause race conditions
  *
  * // We do this (immutable, safe):
- * Credential updated = credential.withLastLogin(Instant.now());  // ✅ New instance
+ * Credential updated = credential.mutate(clock).withLastLogin().apply();  // ✅ New instance
  * }</pre>
  *
  * <h2>Database Mapping</h2>
@@ -41,7 +47,8 @@ import java.util.UUID;
  * ├─────────────────────┼────────────────────┼─────────────────────────────────┤
  * │ id                  │ id                 │ UUIDv7, primary key             │
  * │ email               │ email              │ Unique, case-insensitive        │
- * │ passwordHash        │ password_hash      │ Argon2id hash, null for OAuth   │
+ * │ passwordHash        │ password_hash      │ Argon2id PHC string (legacy)    │
+ * │ passwordHashBinary  │ password_hash_bin  │ Argon2id binary hash (bytea)    │
  * │ authProvider        │ auth_provider      │ 'local', 'google', 'azuread'    │
  * │ authSubject         │ auth_subject       │ OAuth provider's user ID        │
  * │ mfaEnabled          │ mfa_enabled        │ Two-factor auth toggle          │
@@ -81,10 +88,36 @@ import java.util.UUID;
  *
  * <h3>Updating after successful login</h3>
  * <pre>{@code
- * Credential updated = existingCredential.withLastLogin(Instant.now());
- * repository.update(updated);
+ * Credential updated = existingCredential.withLastLogin(clock);
+ * repository.update(existingCredential, updated);
  * }</pre>
  *
+ * <h3>Several changes at once</h3>
+ * <pre>{@code
+ * Credential updated = existingCredential.mutate(clock)  // one clock read
+ *     .withVerifiedEmail()
+ *     .withLastLogin()
+ *     .apply();                                          // one copy
+ * }</pre>
+ *
+ * <h2>Dirty Tracking</h2>
+ * <p>
+ * Every copy remembers which fields changed since the credential was loaded
+ * ({@link #getDirtyFields()}), so the repository can write only those columns.
+ * Fewer columns per UPDATE means less WAL and lets unrelated concurrent updates
+ * (a rehash and a last-login write) both survive.</p>
+ *
+ * <p>
+ * A copy made with {@code toBuilder()} bypasses the tracking. The repository
+ * therefore also writes every field that differs from the previous state
+ * ({@link #fieldsChangedFrom(Credential)}), so such a change is never lost.</p>
+ *
+ * <h2>Time</h2>
+ * <p>
+ * Every mutation takes a {@link Clock} and reads it once. Inject the
+ * application clock instead of using {@code Clock.systemUTC()}, so tests can
+ * fix "now" and all timestamps of a change agree.</p>
+ *
  * <h2>Thread Safety</h2>
  * <p>
  * This class is fully thread-safe due to immutability. All fields are final,
@@ -97,7 +130,7 @@ import java.util.UUID;
 @Getter
 @Builder(toBuilder = true)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
-@ToString(exclude = "passwordHash")
+@ToString(exclude = {"passwordHash", "passwordHashBinary"})
 public class Credential {
 
   /**
@@ -140,9 +173,25 @@ public class Credential {
    *
    * <p>The hash format follows the PHC (Password Hashing Competition) standard:</p>
    * <pre>{@code $argon2id$v=19$m=65536,t=3,p=4$<salt>$<hash>}</pre>
+   *
+   * <p>
+   * Being phased out in favour of {@link #passwordHashBinary}. A local
+   * credential has exactly one of the two; rows still holding a PHC string are
+   * converted the next time the user logs in.</p>
    */
   private final String passwordHash;
 
+  /**
+   * The same Argon2id hash in compact binary form, or {@code null} for OAuth
+   * users and for rows not yet migrated from {@link #passwordHash}.
+   *
+   * <p>
+   * Holds the same information as the PHC string (version, m/t/p, salt,
+   * digest) without Base64 or text parsing. Excluded from {@code toString()}
+   * for the same reason as {@code passwordHash}.</p>
+   */
+  private final byte[] passwordHashBinary;
+
   @Builder.Default
   private final AuthProvider authProvider = AuthProvider.LOCAL;
 
@@ -212,6 +261,16 @@ public class Credential {
    */
   private final Instant deletedAt;
 
+  /**
+   * The fields changed since this credential was loaded or last persisted.
+   *
+   * <p>
+   * Empty for freshly loaded credentials; accumulates across chained mutation
+   * methods. Not part of the database row.</p>
+   */
+  @Builder.Default
+  private final Set<CredentialField> dirtyFields = Set.of();
+
 
   // ──────────────────────────────────────────────────────────────────────────
   // Validation
@@ -229,7 +288,7 @@ public class Credential {
    * <ul>
    *   <li>ID must not be null</li>
    *   <li>Email must not be null or blank</li>
-   *   <li>For LOCAL auth: password hash is required</li>
+   *   <li>For LOCAL auth: a password hash (either format) is required</li>
    *   <li>For OAuth auth: auth subject is required</li>
    * </ul>
    *
@@ -264,7 +323,9 @@ public class Credential {
 
     }
     if (authProvider == AuthProvider.LOCAL) {
-      if (passwordHash == null || passwordHash.isBlank()) {
+      boolean hasText = passwordHash != null && !passwordHash.isBlank();
+      boolean hasBinary = passwordHashBinary != null && passwordHashBinary.length > 0;
+      if (!hasText && !hasBinary) {
         throw new IllegalArgumentException("Password hash is required for " +
             "LOCAL authentication");
       }
@@ -331,6 +392,24 @@ public class Credential {
     return authProvider == AuthProvider.LOCAL;
   }
 
+  /**
+   * Checks whether another state of this credential holds the identical
+   * stored password hash, in the same format.
+   *
+   * <p>
+   * A format conversion (same hash, PHC string to binary) counts as different
+   * here. That is why conversions go through
+   * {@link com.veterinary.auth.domain.repository.CredentialRepository#replacePasswordHash}
+   * and never through {@code update}.</p>
+   *
+   * @param other another state of the same credential
+   * @return true if both hash fields are equal
+   */
+  public boolean hasSamePasswordHashAs(Credential other) {
+    return Objects.equals(passwordHash, other.passwordHash)
+        && Arrays.equals(passwordHashBinary, other.passwordHashBinary);
+  }
+
   // ──────────────────────────────────────────────────────────────────────────
   // Domain Logic (Mutation Methods - Return New Instances)
   // ──────────────────────────────────────────────────────────────────────────
@@ -345,18 +424,30 @@ public class Credential {
    * <h3>Example</h3>
    * <pre>{@code
    * // After verifying password:
-   * Credential updated = credential.withLastLogin(Instant.now());
-   * repository.update(updated);
+   * Credential updated = credential.withLastLogin(clock);
+   * repository.update(credential, updated);
    * }</pre>
    *
-   * @param loginTime when the login occurred (typically {@code Instant.now()})
+   * @param clock the clock to take the login time from
+   * @return a new Credential instance with updated timestamps
+   */
+  public Credential withLastLogin(Clock clock) {
+    return mutate(clock).withLastLogin().apply();
+  }
+
+  /**
+   * Creates a copy with an explicit login time; {@code updatedAt} is taken from
+   * the system UTC clock, the same clock the application injects.
+   *
+   * <p>
+   * Kept for existing callers. Prefer {@link #withLastLogin(Clock)}, which
+   * lets tests fix the time.</p>
+   *
+   * @param loginTime when the user logged in
    * @return a new Credential instance with updated timestamps
    */
   public Credential withLastLogin(Instant loginTime) {
-    return this.toBuilder()
-        .lastLoginAt(loginTime)
-        .updatedAt(Instant.now())
-        .build();
+    return mutate(Clock.systemUTC()).withLastLogin(loginTime).apply();
   }
 
   /**
@@ -373,14 +464,21 @@ public class Credential {
    *   <li>{@code updatedAt} → current timestamp</li>
    * </ul>
    *
+   * @param clock the clock to take the deletion time from
    * @return a new Credential instance marked as deleted
    */
-  public Credential asSoftDeleted(){
-    return this.toBuilder()
-        .status(CredentialStatus.DELETED)
-        .deletedAt(Instant.now())
-        .updatedAt(Instant.now())
-        .build();
+  public Credential asSoftDeleted(Clock clock) {
+    return mutate(clock).asSoftDeleted().apply();
+  }
+
+  /**
+   * Same as {@link #asSoftDeleted(Clock)} with the system UTC clock, the same
+   * clock the application injects. Kept for existing callers.
+   *
+   * @return a new Credential instance
+   */
+  public Credential asSoftDeleted() {
+    return asSoftDeleted(Clock.systemUTC());
   }
 
   /**
@@ -389,13 +487,21 @@ public class Credential {
    * <p>
    * Call this when the user clicks the email verification link.</p>
    *
+   * @param clock the clock to take the verification time from
    * @return a new Credential instance with verified email
    */
+  public Credential withVerifiedEmail(Clock clock) {
+    return mutate(clock).withVerifiedEmail().apply();
+  }
+
+  /**
+   * Same as {@link #withVerifiedEmail(Clock)} with the system UTC clock, the same
+   * clock the application injects. Kept for existing callers.
+   *
+   * @return a new Credential instance
+   */
   public Credential withVerifiedEmail() {
-    return this.toBuilder()
-        .emailVerifiedAt(Instant.now())
-        .updatedAt(Instant.now())
-        .build();
+    return withVerifiedEmail(Clock.systemUTC());
   }
 
   /**
@@ -408,25 +514,62 @@ public class Credential {
    * <h3>Example</h3>
    * <pre>{@code
    * String newHash = argon2Hasher.hash(newPassword);
-   * Credential updated = credential.withPasswordHash(newHash);
-   * repository.update(updated);
+   * Credential updated = credential.withPasswordHash(newHash, clock);
+   * repository.update(credential, updated);
    * }</pre>
    *
    * @param newPasswordHash the new Argon2id hash (not the plain password!)
+   * @param clock           the clock to take {@code updatedAt} from
+   * @return a new Credential instance with the updated hash
+   */
+  public Credential withPasswordHash(String newPasswordHash, Clock clock) {
+    return mutate(clock).withPasswordHash(newPasswordHash).apply();
+  }
+
+  /**
+   * Same as {@link #withPasswordHash(String, Clock)} with the system UTC
+   * clock, the same clock the application injects. Kept for existing callers.
+   *
+   * @param newPasswordHash the new Argon2id hash (not the plain password!)
    * @return a new Credential instance with the updated hash
    */
   public Credential withPasswordHash(String newPasswordHash) {
-    return this.toBuilder()
-        .passwordHash(newPasswordHash)
-        .updatedAt(Instant.now())
-        .build();
+    return withPasswordHash(newPasswordHash, Clock.systemUTC());
   }
 
+  /**
+   * Creates a copy with an updated password hash in binary format.
+   *
+   * <p>
+   * Same as {@link #withPasswordHash(String, Clock)}; also clears the PHC
+   * string so the row never holds two different hashes.</p>
+   *
+   * @param newPasswordHash the new Argon2id hash in binary format
+   * @param clock           the clock to take {@code updatedAt} from
+   * @return a new Credential instance with the updated hash
+   */
+  public Credential withPasswordHash(byte[] newPasswordHash, Clock clock) {
+    return mutate(clock).withPasswordHash(newPasswordHash).apply();
+  }
+
+  /**
+   * Creates a suspended copy of this credential.
+   *
+   * @param clock the clock to take {@code updatedAt} from
+   * @return a new Credential instance with suspended status
+   */
+  public Credential asSuspended(Clock clock) {
+    return mutate(clock).asSuspended().apply();
+  }
+
+  /**
+   * Same as {@link #asSuspended(Clock)} with the system UTC clock, the same
+   * clock the application injects. Kept for existing callers.
+   *
+   * @return a new Credential instance
+   */
   public Credential asSuspended() {
-    return this.toBuilder()
-        .status(CredentialStatus.SUSPENDED)
-        .updatedAt(Instant.now())
-        .build();
+    return asSuspended(Clock.systemUTC());
   }
 
   /**
@@ -435,14 +578,175 @@ public class Credential {
    * <p>
    * Restores a suspended or soft-deleted account to active status.</p>
    *
+   * @param clock the clock to take {@code updatedAt} from
    * @return a new Credential instance with active status
    */
+  public Credential asReactivated(Clock clock) {
+    return mutate(clock).asReactivated().apply();
+  }
+
+  /**
+   * Same as {@link #asReactivated(Clock)} with the system UTC clock, the same
+   * clock the application injects. Kept for existing callers.
+   *
+   * @return a new Credential instance
+   */
   public Credential asReactivated() {
-    return this.toBuilder()
-        .status(CredentialStatus.ACTIVE)
-        .deletedAt(null)
-        .updatedAt(Instant.now())
-        .build();
+    return asReactivated(Clock.systemUTC());
   }
-}
 
+  /**
+   * Lists the mutable fields whose values differ from another state of this
+   * credential.
+   *
+   * <p>
+   * Unlike {@link #getDirtyFields()}, this also catches changes made through
+   * {@code toBuilder()}. Binary hashes are compared by content.</p>
+   *
+   * @param previous the state this credential was derived from
+   * @return the differing fields, empty if the two states are equal
+   */
+  public Set<CredentialField> fieldsChangedFrom(Credential previous) {
+    EnumSet<CredentialField> changed = EnumSet.noneOf(CredentialField.class);
+    addIf(changed, CredentialField.EMAIL, !Objects.equals(email, previous.email));
+    addIf(changed, CredentialField.PASSWORD_HASH, !Objects.equals(passwordHash, previous.passwordHash));
+    addIf(changed, CredentialField.PASSWORD_HASH_BINARY,
+        !Arrays.equals(passwordHashBinary, previous.passwordHashBinary));
+    addIf(changed, CredentialField.AUTH_PROVIDER, authProvider != previous.authProvider);
+    addIf(changed, CredentialField.AUTH_SUBJECT, !Objects.equals(authSubject, previous.authSubject));
+    addIf(changed, CredentialField.MFA_ENABLED, mfaEnabled != previous.mfaEnabled);
+    addIf(changed, CredentialField.STATUS, status != previous.status);
+    addIf(changed, CredentialField.EMAIL_VERIFIED_AT,
+        !Objects.equals(emailVerifiedAt, previous.emailVerifiedAt));
+    addIf(changed, CredentialField.LAST_LOGIN_AT, !Objects.equals(lastLoginAt, previous.lastLoginAt));
+    addIf(changed, CredentialField.UPDATED_AT, !Objects.equals(updatedAt, previous.updatedAt));
+    addIf(changed, CredentialField.DELETED_AT, !Objects.equals(deletedAt, previous.deletedAt));
+    return changed;
+  }
+
+  private static void addIf(Set<CredentialField> fields, CredentialField field, boolean condition) {
+    if (condition) {
+      fields.add(field);
+    }
+  }
+
+  /**
+   * Returns a copy marked as in sync with the database.
+   *
+   * <p>
+   * The repository calls this after a successful write, so the next mutation
+   * starts tracking from the persisted state.</p>
+   *
+   * @return a copy with no dirty fields, or this instance if already clean
+   */
+  public Credential asPersisted() {
+    return dirtyFields.isEmpty() ? this : this.toBuilder().dirtyFields(Set.of()).build();
+  }
+
+  /**
+   * Starts a batch of changes that share one timestamp and one copy.
+   *
+   * <p>
+   * The clock is read exactly once, here. Every change in the batch and the
+   * resulting {@code updatedAt} use that instant.</p>
+   *
+   * @param clock the clock to take "now" from (inject it; don't use a static)
+   * @return a mutation to chain changes on
+   */
+  public Mutation mutate(Clock clock) {
+    return new Mutation(this, clock.instant());
+  }
+
+  /**
+   * A batch of changes to one {@link Credential}, applied with {@link #apply()}.
+   *
+   * <p>
+   * Not thread-safe and meant to be used in a single expression. Each method
+   * mirrors the single-change method of the same name on {@link Credential}.</p>
+   */
+  public static final class Mutation {
+
+    private final CredentialBuilder builder;
+    private final EnumSet<CredentialField> dirty;
+    private final Instant now;
+
+    private Mutation(Credential source, Instant now) {
+      this.builder = source.toBuilder();
+      this.dirty = source.dirtyFields.isEmpty()
+          ? EnumSet.noneOf(CredentialField.class)
+          : EnumSet.copyOf(source.dirtyFields);
+      this.now = now;
+    }
+
+    /** Records a login at the mutation's timestamp. */
+    public Mutation withLastLogin() {
+      return withLastLogin(now);
+    }
+
+    /** Records a login at the given time. */
+    public Mutation withLastLogin(Instant loginTime) {
+      builder.lastLoginAt(loginTime);
+      dirty.add(CredentialField.LAST_LOGIN_AT);
+      return this;
+    }
+
+    /** Marks the email as verified. */
+    public Mutation withVerifiedEmail() {
+      builder.emailVerifiedAt(now);
+      dirty.add(CredentialField.EMAIL_VERIFIED_AT);
+      return this;
+    }
+
+    /** Replaces the password hash (not the plain password!). */
+    public Mutation withPasswordHash(String newPasswordHash) {
+      builder.passwordHash(newPasswordHash).passwordHashBinary(null);
+      dirty.add(CredentialField.PASSWORD_HASH);
+      dirty.add(CredentialField.PASSWORD_HASH_BINARY);
+      return this;
+    }
+
+    /** Replaces the password hash with one in binary format. */
+    public Mutation withPasswordHash(byte[] newPasswordHash) {
+      builder.passwordHash(null).passwordHashBinary(newPasswordHash);
+      dirty.add(CredentialField.PASSWORD_HASH);
+      dirty.add(CredentialField.PASSWORD_HASH_BINARY);
+      return this;
+    }
+
+    /** Suspends the account. */
+    public Mutation asSuspended() {
+      builder.status(CredentialStatus.SUSPENDED);
+      dirty.add(CredentialField.STATUS);
+      return this;
+    }
+
+    /** Soft-deletes the account. */
+    public Mutation asSoftDeleted() {
+      builder.status(CredentialStatus.DELETED).deletedAt(now);
+      dirty.add(CredentialField.STATUS);
+      dirty.add(CredentialField.DELETED_AT);
+      return this;
+    }
+
+    /** Restores a suspended or soft-deleted account. */
+    public Mutation asReactivated() {
+      builder.status(CredentialStatus.ACTIVE).deletedAt(null);
+      dirty.add(CredentialField.STATUS);
+      dirty.add(CredentialField.DELETED_AT);
+      return this;
+    }
+
+    /**
+     * Builds the new credential, stamping {@code updatedAt}.
+     *
+     * @return the changed copy, with every touched field marked dirty
+     */
+    public Credential apply() {
+      dirty.add(CredentialField.UPDATED_AT);
+      return builder
+          .updatedAt(now)
+          .dirtyFields(Collections.unmodifiableSet(dirty))
+          .build();
+    }
+  }
+}
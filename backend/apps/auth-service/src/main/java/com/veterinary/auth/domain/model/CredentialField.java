@@ -0,0 +1,25 @@
+package com.veterinary.auth.domain.model;
+
+/**
+ * The mutable fields of a {@link Credential}, used for dirty tracking.
+ *
+ * <p>
+ * {@code id} and {@code createdAt} are missing on purpose: they never change
+ * after creation.</p>
+ *
+ * @author Auth Service Team
+ * @see Credential#getDirtyFields()
+ */
+public enum CredentialField {
+  EMAIL,
+  PASSWORD_HASH,
+  PASSWORD_HASH_BINARY,
+  AUTH_PROVIDER,
+  AUTH_SUBJECT,
+  MFA_ENABLED,
+  STATUS,
+  EMAIL_VERIFIED_AT,
+  LAST_LOGIN_AT,
+  UPDATED_AT,
+  DELETED_AT
+}
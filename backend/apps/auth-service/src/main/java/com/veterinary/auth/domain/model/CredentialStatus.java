@@ -0,0 +1,28 @@
+package com.veterinary.auth.domain.model;
+
+/**
+ * The lifecycle state of a {@link Credential}, controlling whether it may log in.
+ *
+ * <p>
+ * Stored in the {@code status} column as the lowercase constant name
+ * ({@code 'active'}, {@code 'suspended'}, {@code 'deleted'}).</p>
+ *
+ * <pre>
+ *            asSuspended              asSoftDeleted
+ *   ACTIVE ─────────────► SUSPENDED ───────────────► DELETED
+ *     ▲  │                    │                         │
+ *     │  └────────────────────┼── asSoftDeleted ───────►│
+ *     └──── asReactivated ────┴─────────────────────────┘
+ * </pre>
+ *
+ * @author Auth Service Team
+ * @see Credential#canLogin()
+ */
+public enum CredentialStatus {
+  /** May log in. The default for new credentials. */
+  ACTIVE,
+  /** Blocked by an administrator; can be reactivated. */
+  SUSPENDED,
+  /** Soft-deleted: kept for audit and recovery, never logs in. */
+  DELETED
+}
@@ -0,0 +1,141 @@
+package com.veterinary.auth.domain.model;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A single-use refresh token issued alongside a JWT access token.
+ *
+ * <p>
+ * Refresh tokens let a client obtain a new JWT without sending the raw password
+ * again. Since every password check is a full Argon2id computation (64 MB and
+ * hundreds of milliseconds), this keeps the expensive path for real logins only.
+ * Exchanging a refresh token is a single indexed lookup.</p>
+ *
+ * <h2>What We Store</h2>
+ * <p>
+ * The client receives a random opaque string. We only store its SHA-256 digest
+ * ({@code tokenHash}). A fast hash is fine here because the token carries 256 bits
+ * of randomness, so there's nothing to brute-force, unlike a human password.</p>
+ *
+ * <h2>Rotation</h2>
+ * <p>
+ * Every exchange revokes the presented token and issues a new one in the same
+ * {@code familyId}. If a token that was already rotated is presented again, someone
+ * holds a copy of it, so the whole family is revoked.</p>
+ *
+ * <pre>
+ * login ──► T1 ──exchange──► T2 ──exchange──► T3
+ *            │                                 │
+ *            └─ replayed later? ──► revoke T1..T3 (same family)
+ * </pre>
+ *
+ * <h2>Database Mapping</h2>
+ * <pre>
+ * ┌─────────────────────┬────────────────────┬─────────────────────────────────┐
+ * │ Java Field          │ DB Column          │ Notes                           │
+ * ├─────────────────────┼────────────────────┼─────────────────────────────────┤
+ * │ id                  │ id                 │ UUIDv7, primary key             │
+ * │ credentialId        │ credential_id      │ FK to credentials.id            │
+ * │ familyId            │ family_id          │ Shared by one rotation chain    │
+ * │ tokenHash           │ token_hash         │ SHA-256 of the raw token, unique│
+ * │ issuedAt            │ issued_at          │                                 │
+ * │ expiresAt           │ expires_at         │                                 │
+ * │ revokedAt           │ revoked_at         │ Set on rotation or revocation   │
+ * └─────────────────────┴────────────────────┴─────────────────────────────────┘
+ * </pre>
+ *
+ * @author Auth Service Team
+ * @see Credential
+ */
+@Getter
+@Builder(toBuilder = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString(exclude = "tokenHash")
+public class RefreshToken {
+
+  @EqualsAndHashCode.Include
+  private final UUID id;
+
+  private final UUID credentialId;
+
+  /**
+   * Identifies the rotation chain this token belongs to. The first token issued
+   * at login starts a new family; every rotated token inherits it.
+   */
+  private final UUID familyId;
+
+  /**
+   * SHA-256 digest of the raw token. The raw token itself is never stored.
+   */
+  private final byte[] tokenHash;
+
+  private final Instant issuedAt;
+
+  private final Instant expiresAt;
+
+  /**
+   * When this token was spent (rotated) or revoked, or {@code null} while usable.
+   */
+  private final Instant revokedAt;
+
+  /**
+   * Validates that this token satisfies all domain invariants.
+   *
+   * @return this token (for method chaining)
+   * @throws NullPointerException     if required fields are null
+   * @throws IllegalArgumentException if expiry is not after issuance
+   */
+  public RefreshToken validate() {
+    Objects.requireNonNull(id, "Refresh token ID cannot be null");
+    Objects.requireNonNull(credentialId, "Credential ID cannot be null");
+    Objects.requireNonNull(familyId, "Family ID cannot be null");
+    Objects.requireNonNull(tokenHash, "Token hash cannot be null");
+    Objects.requireNonNull(issuedAt, "Issued at cannot be null");
+    Objects.requireNonNull(expiresAt, "Expires at cannot be null");
+
+    if (!expiresAt.isAfter(issuedAt)) {
+      throw new IllegalArgumentException("Refresh token must expire after it " +
+          "was issued");
+    }
+
+    return this;
+  }
+
+  /**
+   * Checks whether this token can still be exchanged for a new access token.
+   *
+   * @param now the current time
+   * @return true if the token is neither revoked nor expired
+   */
+  public boolean isUsable(Instant now) {
+    return revokedAt == null && now.isBefore(expiresAt);
+  }
+
+  /**
+   * Creates the successor of this token in the same rotation family.
+   *
+   * @param id        the new token's ID
+   * @param tokenHash SHA-256 digest of the new raw token
+   * @param now       issuance time
+   * @param expiresAt when the new token expires
+   * @return a new, validated RefreshToken instance
+   */
+  public RefreshToken rotate(UUID id, byte[] tokenHash, Instant now, Instant expiresAt) {
+    return RefreshToken.builder()
+        .id(id)
+        .credentialId(credentialId)
+        .familyId(familyId)
+        .tokenHash(tokenHash)
+        .issuedAt(now)
+        .expiresAt(expiresAt)
+        .build()
+        .validate();
+  }
+}
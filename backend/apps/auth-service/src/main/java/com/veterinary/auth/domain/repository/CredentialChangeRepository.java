@@ -0,0 +1,31 @@
+package com.veterinary.auth.domain.repository;
+
+import com.veterinary.auth.domain.event.CredentialChangeType;
+import com.veterinary.auth.domain.event.CredentialChanged;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Read access to the credential change history ({@code credential_outbox}).
+ *
+ * <p>
+ * Changes are written by {@link CredentialRepository#update} and delivered live
+ * as {@link CredentialChanged} events; this port is for components that need
+ * the recent past at startup, before any event has arrived.</p>
+ *
+ * @author Auth Service Team
+ */
+public interface CredentialChangeRepository {
+
+    /**
+     * Lists changes of the given types that occurred after {@code since}.
+     *
+     * @param since the oldest change time of interest (exclusive)
+     * @param types the change types to include
+     * @return the changes, oldest first; empty if none
+     */
+    Uni<List<CredentialChanged>> findSince(Instant since, Set<CredentialChangeType> types);
+}
@@ -0,0 +1,106 @@
+package com.veterinary.auth.domain.repository;
+
+import auth.Auth.AuthProvider;
+import com.veterinary.auth.domain.model.Credential;
+import io.smallrye.mutiny.Uni;
+
+import java.util.UUID;
+
+/**
+ * Persistence port for {@link Credential}s.
+ *
+ * @author Auth Service Team
+ */
+public interface CredentialRepository {
+
+    /**
+     * Looks up a credential by its ID.
+     *
+     * @param id the credential ID
+     * @return the credential, or {@code null} if none exists
+     */
+    Uni<Credential> findById(UUID id);
+
+    /**
+     * Looks up a credential by login email (local authentication).
+     *
+     * <p>
+     * May be served by a read replica.</p>
+     *
+     * @param email the email, in any case
+     * @return the credential, or {@code null} if none exists
+     */
+    Uni<Credential> findByEmail(String email);
+
+    /**
+     * Looks up a credential by OAuth provider and subject.
+     *
+     * <p>
+     * May be served by a read replica.</p>
+     *
+     * @param provider    the OAuth provider
+     * @param authSubject the provider's user ID
+     * @return the credential, or {@code null} if none exists
+     */
+    Uni<Credential> findByAuthSubject(AuthProvider provider, String authSubject);
+
+    /**
+     * Stores a new credential.
+     *
+     * <p>
+     * Always runs on the primary. The unique constraints on {@code email} and
+     * {@code (auth_provider, auth_subject)} are checked by the insert itself,
+     * with no prior lookup.</p>
+     *
+     * @param credential a validated, new credential
+     * @return the stored credential, or {@code null} if the email or OAuth
+     * subject is already registered
+     */
+    Uni<Credential> insert(Credential credential);
+
+    /**
+     * Persists a mutated credential.
+     *
+     * <p>
+     * Any broadcast-worthy change (see
+     * {@link com.veterinary.auth.domain.event.CredentialChangeType#between}) is
+     * written to the outbox in the same transaction, so other nodes hear about
+     * exactly the changes that were committed. A change that
+     * {@linkplain com.veterinary.auth.domain.event.CredentialChangeType#endsSessions()
+     * ends sessions} also revokes the credential's refresh tokens in that
+     * transaction.</p>
+     *
+     * <p>
+     * Only changed columns are written: those in
+     * {@link Credential#getDirtyFields()} plus any other field that differs
+     * from {@code previous}. If there are none, nothing is written.</p>
+     *
+     * @param previous the state the mutation started from
+     * @param updated  the state to persist
+     * @return the persisted credential, with no dirty fields
+     */
+    Uni<Credential> update(Credential previous, Credential updated);
+
+    /**
+     * Swaps a password hash for an equivalent one: the same password with
+     * upgraded parameters, or the same hash converted to binary format.
+     *
+     * <p>
+     * Unlike {@link #update}, this writes no outbox entry: the password itself
+     * is unchanged, so no node has anything to invalidate and no session may be
+     * revoked. It only applies if the stored hash (both formats) is still the
+     * one in {@code current}, so a concurrent real password change always
+     * wins.</p>
+     *
+     * <p>
+     * {@code updatedAt} is written from {@code upgraded}, and a replaced
+     * credential is read from the primary for a while, exactly as after
+     * {@link #update}.</p>
+     *
+     * @param current  the credential the replacement was computed from
+     * @param upgraded the same credential with the new hash (see
+     *                 {@link Credential#withPasswordHash(byte[], java.time.Clock)})
+     * @return true if the hash was replaced
+     */
+    Uni<Boolean> replacePasswordHash(Credential current, Credential upgraded);
+}
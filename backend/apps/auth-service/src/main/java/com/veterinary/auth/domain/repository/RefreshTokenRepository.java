@@ -0,0 +1,58 @@
+package com.veterinary.auth.domain.repository;
+
+import com.veterinary.auth.domain.model.RefreshToken;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Persistence port for {@link RefreshToken}s.
+ *
+ * <p>
+ * All lookups go through the digest of the raw token, which is backed by a
+ * unique index. None of these operations touch Argon2.</p>
+ *
+ * @author Auth Service Team
+ */
+public interface RefreshTokenRepository {
+
+    /**
+     * Stores a newly issued token.
+     *
+     * @param token the token to insert
+     * @return the stored token
+     */
+    Uni<RefreshToken> insert(RefreshToken token);
+
+    /**
+     * Atomically marks a usable token as spent and returns it.
+     *
+     * <p>
+     * Two concurrent exchanges of the same token race on a single
+     * {@code UPDATE ... WHERE revoked_at IS NULL}, so exactly one of them wins.</p>
+     *
+     * @param tokenHash SHA-256 digest of the presented raw token
+     * @param now       the current time
+     * @return the consumed token, or {@code null} if it is unknown, expired,
+     * or already spent
+     */
+    Uni<RefreshToken> consume(byte[] tokenHash, Instant now);
+
+    /**
+     * Looks up a token by digest regardless of its state.
+     *
+     * @param tokenHash SHA-256 digest of the raw token
+     * @return the token, or {@code null} if unknown
+     */
+    Uni<RefreshToken> findByHash(byte[] tokenHash);
+
+    /**
+     * Revokes every usable token in a rotation family (replay detected).
+     *
+     * @param familyId the family to revoke
+     * @param now      the revocation time
+     * @return the number of tokens revoked
+     */
+    Uni<Integer> revokeFamily(UUID familyId, Instant now);
+}
@@ -0,0 +1,212 @@
+package com.veterinary.auth.infrastructure.grpc;
+
+import auth.Auth.AuthProvider;
+import auth.Auth.BatchIntrospectTokensRequest;
+import auth.Auth.BatchIntrospectTokensResponse;
+import auth.Auth.CreateCredentialRequest;
+import auth.Auth.CreateCredentialResponse;
+import auth.Auth.GetJwksRequest;
+import auth.Auth.GetJwksResponse;
+import auth.Auth.IntrospectTokenRequest;
+import auth.Auth.IntrospectTokenResponse;
+import auth.Auth.RefreshAccessTokenRequest;
+import auth.Auth.RefreshAccessTokenResponse;
+import auth.Auth.ValidateCredentialRequest;
+import auth.Auth.ValidateCredentialResponse;
+import auth.MutinyAuthServiceGrpc;
+import com.veterinary.auth.application.LoginService;
+import com.veterinary.auth.application.RefreshTokenService;
+import com.veterinary.auth.application.RegistrationService;
+import com.veterinary.auth.application.TokenIntrospectionService;
+import com.veterinary.auth.infrastructure.security.JwksPublisher;
+import com.veterinary.auth.infrastructure.security.VerifiedTokenCache.VerifiedToken;
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.quarkus.grpc.GrpcService;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gRPC endpoint for {@code auth.AuthService}.
+ *
+ * <p>
+ * Extends the generated Mutiny base class, so RPCs that are not overridden here
+ * answer {@code UNIMPLEMENTED}. Application errors are mapped to gRPC status
+ * codes at this boundary and nowhere else.</p>
+ *
+ * @author Auth Service Team
+ */
+@GrpcService
+public class AuthGrpcService extends MutinyAuthServiceGrpc.AuthServiceImplBase {
+
+    private static final IntrospectTokenResponse INACTIVE =
+            IntrospectTokenResponse.newBuilder().setActive(false).build();
+
+    private final RegistrationService registrationService;
+    private final LoginService loginService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenIntrospectionService introspectionService;
+    private final JwksPublisher jwksPublisher;
+    private final IdempotencyCache idempotencyCache;
+    private final int maxIntrospectionBatch;
+    private final long maxKeyedRunNanos;
+
+    public AuthGrpcService(
+            RegistrationService registrationService,
+            LoginService loginService,
+            RefreshTokenService refreshTokenService,
+            TokenIntrospectionService introspectionService,
+            JwksPublisher jwksPublisher,
+            IdempotencyCache idempotencyCache,
+            @ConfigProperty(name = "auth.introspection.max-batch-size", defaultValue = "100") int maxIntrospectionBatch,
+            @ConfigProperty(name = "auth.idempotency.max-run-time", defaultValue = "PT30S") Duration maxKeyedRunTime) {
+        this.registrationService = registrationService;
+        this.loginService = loginService;
+        this.refreshTokenService = refreshTokenService;
+        this.introspectionService = introspectionService;
+        this.jwksPublisher = jwksPublisher;
+        this.idempotencyCache = idempotencyCache;
+        this.maxIntrospectionBatch = maxIntrospectionBatch;
+        this.maxKeyedRunNanos = maxKeyedRunTime.toNanos();
+    }
+
+    @Override
+    public Uni<CreateCredentialResponse> createCredential(CreateCredentialRequest request) {
+        boolean local = request.getProvider() == AuthProvider.LOCAL;
+        if (request.getEmail().isEmpty()
+                || (local && request.getPassword().isEmpty())
+                || (!local && request.getAuthSubject().isEmpty())) {
+            return Uni.createFrom().failure(Status.INVALID_ARGUMENT
+                    .withDescription("email and either password (LOCAL) or auth_subject are required")
+                    .asRuntimeException());
+        }
+
+        // A keyed run is shared with retries, so it must not die with this call's
+        // deadline; it gets a server-side one instead, starting when the run does
+        String key = request.getIdempotencyKey();
+        Deadline callDeadline = Context.current().getDeadline();
+
+        return idempotencyCache.deduplicate("CreateCredential", key, fingerprint(request), () -> registrationService
+                .register(request.getEmail(), request.getPassword(), request.getProvider(),
+                        request.getAuthSubject(),
+                        key.isEmpty() ? callDeadline : Deadline.after(maxKeyedRunNanos, TimeUnit.NANOSECONDS))
+                .onItem().ifNull().failWith(() -> Status.ALREADY_EXISTS
+                        .withDescription("A credential with this email or subject already exists")
+                        .asRuntimeException())
+                .map(credential -> CreateCredentialResponse.newBuilder()
+                        .setUserId(credential.getId().toString())
+                        .setEmail(credential.getEmail())
+                        .build()));
+    }
+
+    @Override
+    public Uni<ValidateCredentialResponse> validateCredential(ValidateCredentialRequest request) {
+        if (request.getEmail().isEmpty() || request.getPassword().isEmpty()) {
+            return Uni.createFrom().failure(Status.INVALID_ARGUMENT
+                    .withDescription("email and password are required")
+                    .asRuntimeException());
+        }
+
+        // Read on the calling thread: the gRPC context is not propagated further
+        return loginService.login(request.getEmail(), request.getPassword(),
+                        Context.current().getDeadline())
+                .onItem().ifNull().failWith(() -> Status.UNAUTHENTICATED
+                        .withDescription("Invalid email or password")
+                        .asRuntimeException())
+                .map(tokens -> ValidateCredentialResponse.newBuilder()
+                        .setToken(tokens.accessToken())
+                        .setUserId(tokens.credentialId().toString())
+                        .setRefreshToken(tokens.refreshToken())
+                        .build());
+    }
+
+    @Override
+    public Uni<RefreshAccessTokenResponse> refreshAccessToken(RefreshAccessTokenRequest request) {
+        if (request.getRefreshToken().isEmpty()) {
+            return Uni.createFrom().failure(Status.INVALID_ARGUMENT
+                    .withDescription("refresh_token is required")
+                    .asRuntimeException());
+        }
+
+        return refreshTokenService.exchange(request.getRefreshToken())
+                .onItem().ifNull().failWith(() -> Status.UNAUTHENTICATED
+                        .withDescription("Refresh token is invalid or expired")
+                        .asRuntimeException())
+                .map(tokens -> RefreshAccessTokenResponse.newBuilder()
+                        .setToken(tokens.accessToken())
+                        .setUserId(tokens.credentialId().toString())
+                        .setRefreshToken(tokens.refreshToken())
+                        .build());
+    }
+
+    @Override
+    public Uni<IntrospectTokenResponse> introspectToken(IntrospectTokenRequest request) {
+        // RSA verification on a miss: keep it off the event loop
+        return Uni.createFrom().item(() -> toResponse(introspectionService.introspect(request.getToken())))
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+    }
+
+    @Override
+    public Uni<BatchIntrospectTokensResponse> batchIntrospectTokens(BatchIntrospectTokensRequest request) {
+        if (request.getTokensCount() > maxIntrospectionBatch) {
+            return Uni.createFrom().failure(Status.INVALID_ARGUMENT
+                    .withDescription("At most " + maxIntrospectionBatch + " tokens per batch")
+                    .asRuntimeException());
+        }
+
+        return Uni.createFrom().item(() -> {
+            BatchIntrospectTokensResponse.Builder response = BatchIntrospectTokensResponse.newBuilder();
+            for (VerifiedToken verified : introspectionService.introspectAll(request.getTokensList())) {
+                response.addResults(toResponse(verified));
+            }
+            return response.build();
+        }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+    }
+
+    @Override
+    public Uni<GetJwksResponse> getJwks(GetJwksRequest request) {
+        return Uni.createFrom().item(GetJwksResponse.newBuilder()
+                .setJwksJson(jwksPublisher.jwksJson())
+                .build());
+    }
+
+    /**
+     * What a {@code CreateCredential} idempotency key is bound to: every field
+     * that shapes the credential. The password enters as a SHA-256 digest
+     * salted with the key, so the cache never holds it in the clear; a retry
+     * with a different password is a different request, not a replay.
+     */
+    static String fingerprint(CreateCredentialRequest request) {
+        String password;
+        try {
+            password = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256")
+                    .digest((request.getIdempotencyKey() + "|" + request.getPassword())
+                            .getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        return request.getProvider() + "|" + request.getEmail() + "|" + request.getAuthSubject()
+                + "|" + password;
+    }
+
+    private static IntrospectTokenResponse toResponse(VerifiedToken verified) {
+        if (verified == null) {
+            return INACTIVE;
+        }
+        return IntrospectTokenResponse.newBuilder()
+                .setActive(true)
+                .setUserId(verified.credentialId().toString())
+                .setEmail(verified.email())
+                .setExpiresAt(verified.expiresAt().getEpochSecond())
+                .build();
+    }
+}
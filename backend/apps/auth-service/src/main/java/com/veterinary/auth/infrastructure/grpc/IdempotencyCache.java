@@ -0,0 +1,144 @@
+package com.veterinary.auth.infrastructure.grpc;
+
+import io.grpc.Status;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, expiring cache of responses to requests that carry an idempotency
+ * key.
+ *
+ * <p>
+ * The user service retries {@code CreateCredential} when a call times out, and
+ * the first attempt may well still be hashing. Without deduplication the retry
+ * pays a second Argon2 hash and then fails on the unique email. With it:</p>
+ *
+ * <pre>
+ * attempt 1 ──► miss ──► run work ─────────────────────► response ──┐
+ * attempt 2 ──► hit (in flight) ──► wait for the same work ─────────┤ same response
+ * attempt 3 ──► hit (done) ─────────────────────────────────────────┘ nothing recomputed
+ * </pre>
+ *
+ * <h2>Rules</h2>
+ * <ul>
+ *   <li>Keys are scoped per RPC, so two RPCs can't collide on a client key</li>
+ *   <li>A key is bound to a fingerprint of the request; reusing it for a
+ *   different request is {@code INVALID_ARGUMENT}</li>
+ *   <li>Failed work is forgotten, so a retry after e.g. {@code RESOURCE_EXHAUSTED}
+ *   really runs again</li>
+ *   <li>Shared work outlives the call that started it, so it can't use that
+ *   call's deadline; callers bound it themselves (for {@code CreateCredential},
+ *   {@code auth.idempotency.max-run-time})</li>
+ *   <li>Entries live {@code auth.idempotency.ttl} from the first attempt; past
+ *   {@code auth.idempotency.cache-size}, the oldest are dropped</li>
+ * </ul>
+ *
+ * <p>
+ * The cache is per node. A retry that lands on another node runs normally,
+ * which for {@code CreateCredential} means {@code ALREADY_EXISTS}.</p>
+ *
+ * <h2>Thread Safety</h2>
+ * <p>
+ * The map is only touched under its own lock, for a lookup or an insert. The
+ * work itself runs outside it.</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class IdempotencyCache {
+
+    private record Key(String scope, String idempotencyKey) {
+
+    }
+
+    private record Entry(String fingerprint, Uni<?> result, long expiresAtNanos) {
+
+    }
+
+    private final Map<Key, Entry> entries;
+    private final long ttlNanos;
+
+    public IdempotencyCache(
+            @ConfigProperty(name = "auth.idempotency.cache-size", defaultValue = "10000") int maxEntries,
+            @ConfigProperty(name = "auth.idempotency.ttl", defaultValue = "PT10M") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Runs {@code work} once per key and hands every caller its outcome.
+     *
+     * <h3>Example</h3>
+     * <pre>{@code
+     * return cache.deduplicate("CreateCredential", request.getIdempotencyKey(),
+     *         request.getEmail(), () -> createCredential(request));
+     * }</pre>
+     *
+     * @param scope          the RPC name
+     * @param idempotencyKey the client's key; {@code null} or empty disables
+     *                       deduplication
+     * @param fingerprint    what identifies the request apart from the key
+     *                       (never a password)
+     * @param work           produces the response
+     * @param <T>            the response type, always the same per scope
+     * @return the shared response
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Uni<T> deduplicate(String scope, String idempotencyKey, String fingerprint,
+            Supplier<Uni<T>> work) {
+        if (idempotencyKey == null || idempotencyKey.isEmpty()) {
+            return work.get();
+        }
+
+        Key key = new Key(scope, idempotencyKey);
+        long now = System.nanoTime();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || now - entry.expiresAtNanos >= 0) {
+                long expiresAt = now + ttlNanos;
+                entry = new Entry(fingerprint, share(key, expiresAt, work), expiresAt);
+                entries.put(key, entry);
+            }
+        }
+
+        if (!Objects.equals(entry.fingerprint, fingerprint)) {
+            return Uni.createFrom().failure(Status.INVALID_ARGUMENT
+                    .withDescription("Idempotency key was already used for a different request")
+                    .asRuntimeException());
+        }
+        return (Uni<T>) entry.result;
+    }
+
+    /**
+     * Memoizes the work so concurrent and later subscribers share one run, and
+     * forgets the entry if that run fails.
+     */
+    private <T> Uni<T> share(Key key, long expiresAt, Supplier<Uni<T>> work) {
+        // Subscribed lazily, on the first caller's thread, outside the lock.
+        // A cancelled caller doesn't cancel the shared run: its retry wants the result.
+        return Uni.createFrom().deferred(work::get)
+                .onFailure().invoke(() -> {
+                    synchronized (entries) {
+                        // Only our own entry, not one that replaced it after expiry
+                        Entry current = entries.get(key);
+                        if (current != null && current.expiresAtNanos == expiresAt) {
+                            entries.remove(key);
+                        }
+                    }
+                })
+                .memoize().indefinitely();
+    }
+}
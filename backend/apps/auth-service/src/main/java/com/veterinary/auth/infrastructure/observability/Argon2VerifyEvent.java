@@ -0,0 +1,35 @@
+package com.veterinary.auth.infrastructure.observability;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Recomputing the Argon2id hash of the presented password.
+ *
+ * @author Auth Service Team
+ * @see LoginPhaseEvent
+ */
+@Name("com.veterinary.auth.Argon2Verify")
+@Label("Argon2 Verify")
+@Description("Recomputing the Argon2id hash of the presented password.")
+public class Argon2VerifyEvent extends LoginPhaseEvent {
+
+    @Label("Memory (KiB)")
+    public int memory;
+
+    @Label("Iterations")
+    public int iterations;
+
+    @Label("Parallelism")
+    public int parallelism;
+
+    @Label("Thread Wait")
+    @Description("Time between submitting the work and a worker thread picking it up")
+    @Timespan(Timespan.NANOSECONDS)
+    public long threadWait;
+
+    @Label("Matched")
+    public boolean matched;
+}
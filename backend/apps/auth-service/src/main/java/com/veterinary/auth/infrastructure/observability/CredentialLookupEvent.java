@@ -0,0 +1,20 @@
+package com.veterinary.auth.infrastructure.observability;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Loading the credential by email, from a replica or the primary.
+ *
+ * @author Auth Service Team
+ * @see LoginPhaseEvent
+ */
+@Name("com.veterinary.auth.CredentialLookup")
+@Label("Credential Lookup")
+@Description("Loading the credential by email, from a replica or the primary.")
+public class CredentialLookupEvent extends LoginPhaseEvent {
+
+    @Label("Found")
+    public boolean found;
+}
@@ -0,0 +1,17 @@
+package com.veterinary.auth.infrastructure.observability;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Signing the access token.
+ *
+ * @author Auth Service Team
+ * @see LoginPhaseEvent
+ */
+@Name("com.veterinary.auth.JwtSign")
+@Label("JWT Sign")
+@Description("Signing the access token.")
+public class JwtSignEvent extends LoginPhaseEvent {
+}
@@ -0,0 +1,17 @@
+package com.veterinary.auth.infrastructure.observability;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Writing last_login_at after a successful login.
+ *
+ * @author Auth Service Team
+ * @see LoginPhaseEvent
+ */
+@Name("com.veterinary.auth.LastLoginPersist")
+@Label("Last Login Persist")
+@Description("Writing last_login_at after a successful login.")
+public class LastLoginPersistEvent extends LoginPhaseEvent {
+}
@@ -0,0 +1,71 @@
+package com.veterinary.auth.infrastructure.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Base class for the JDK Flight Recorder events of the login pipeline.
+ *
+ * <p>
+ * Micrometer-style averages hide the slow logins we actually care about. JFR
+ * records every phase of every login (above the configured threshold) with its
+ * exact duration and thread, so a continuous recording shows which phase a p99.9
+ * outlier spent its time in.</p>
+ *
+ * <h2>Cost When Disabled</h2>
+ * <p>
+ * Every call site follows the same shape:</p>
+ * <pre>{@code
+ * Argon2VerifyEvent event = new Argon2VerifyEvent();
+ * event.begin();
+ * ... work ...
+ * event.end();
+ * if (event.shouldCommit()) {   // false when disabled or under threshold
+ *     event.memory = ...;       // fields only filled in when recorded
+ *     event.commit();
+ * }
+ * }</pre>
+ * <p>
+ * When the event is disabled, {@code begin()}/{@code end()} are no-ops and the
+ * JIT removes the allocation entirely. The credential ID hash is only computed
+ * inside {@code shouldCommit()}.</p>
+ *
+ * @author Auth Service Team
+ * @see <a href="https://docs.oracle.com/en/java/javase/21/jfapi/">JFR API Guide</a>
+ */
+@Category({"Veterinary", "Auth", "Login"})
+@StackTrace(false)
+public abstract class LoginPhaseEvent extends Event {
+
+    @Label("Credential ID Hash")
+    @Description("First 12 hex characters of SHA-256(credential ID); never the ID itself")
+    public String credentialIdHash;
+
+    /**
+     * Sets {@link #credentialIdHash} from a credential ID.
+     *
+     * @param credentialId the credential, or {@code null} if unknown
+     */
+    public void setCredentialId(UUID credentialId) {
+        credentialIdHash = credentialId == null ? null : hash(credentialId);
+    }
+
+    private static String hash(UUID credentialId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(credentialId.toString().getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.veterinary.auth.infrastructure.observability;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Checking whether the stored hash uses outdated Argon2 parameters.
+ *
+ * @author Auth Service Team
+ * @see LoginPhaseEvent
+ */
+@Name("com.veterinary.auth.NeedsRehash")
+@Label("Needs Rehash")
+@Description("Checking whether the stored hash uses outdated Argon2 parameters.")
+public class NeedsRehashEvent extends LoginPhaseEvent {
+
+    @Label("Memory (KiB)")
+    public int memory;
+
+    @Label("Iterations")
+    public int iterations;
+
+    @Label("Parallelism")
+    public int parallelism;
+
+    @Label("Needs Rehash")
+    public boolean needsRehash;
+}
@@ -0,0 +1,30 @@
+package com.veterinary.auth.infrastructure.observability;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Parsing the stored password hash into Argon2 parameters: a PHC string, or
+ * the binary format (no text parsing, so this phase should all but vanish).
+ *
+ * @author Auth Service Team
+ * @see LoginPhaseEvent
+ */
+@Name("com.veterinary.auth.PhcParse")
+@Label("PHC Parse")
+@Description("Parsing the stored password hash (PHC string or binary) into Argon2 parameters.")
+public class PhcParseEvent extends LoginPhaseEvent {
+
+    @Label("Memory (KiB)")
+    public int memory;
+
+    @Label("Iterations")
+    public int iterations;
+
+    @Label("Parallelism")
+    public int parallelism;
+
+    @Label("Binary Format")
+    public boolean binary;
+}
@@ -0,0 +1,220 @@
+package com.veterinary.auth.infrastructure.persistence;
+
+import com.veterinary.auth.domain.event.CredentialChangeType;
+import com.veterinary.auth.domain.event.CredentialChanged;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.pgclient.pubsub.PgSubscriber;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import io.vertx.pgclient.PgConnectOptions;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Turns {@code credential_outbox} notifications into local
+ * {@link CredentialChanged} CDI events on every node.
+ *
+ * <p>
+ * Each node holds one dedicated {@code LISTEN credential_changes} connection
+ * (not from the pool, since pooled connections drop their subscriptions when
+ * returned). Notifications arrive within milliseconds of the writer's commit and
+ * carry the whole event, so the hot path needs no query.</p>
+ *
+ * <h2>Reconnect and Catch-up</h2>
+ * <pre>
+ *  notify(41) notify(42)   ✂ connection lost ✂   notify(43) notify(44)  (missed)
+ *                                                     │
+ *                     reconnect ──► SELECT ... WHERE sequence > 42 - overlap
+ *                                                     │
+ *                                    replay 43, 44 (and a few already seen)
+ * </pre>
+ *
+ * <h3>Why an Overlap?</h3>
+ * <p>
+ * {@code bigserial} values are handed out at insert time but become visible at
+ * commit time, so sequence 42 can commit after 43. Replaying a small window below
+ * the highest sequence seen covers that race. Duplicates are harmless because
+ * every observer only invalidates.</p>
+ *
+ * <h2>Retention</h2>
+ * <p>
+ * The outbox is only read back for catch-up and for rebuilding the JWT
+ * revocation list at startup, which looks one token lifetime into the past.
+ * Every node deletes rows older than {@code auth.credential-changes.outbox-retention}
+ * once per {@link #PRUNE_INTERVAL}; the statement is idempotent, so nodes racing
+ * on it is harmless. Keep the retention well above {@code auth.jwt.lifetime}
+ * and above the longest outage a node should be able to catch up from.</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class CredentialChangeListener {
+
+    static final String CHANNEL = "credential_changes";
+
+    /**
+     * {@code occurred_at} as epoch milliseconds, for payloads and result rows.
+     */
+    static final String EPOCH_MILLIS = "(extract(epoch FROM occurred_at) * 1000)::bigint";
+
+    private static final Duration PRUNE_INTERVAL = Duration.ofHours(1);
+
+    /**
+     * Upper bound of the backoff between attempts of the initial connect.
+     */
+    private static final Duration MAX_CONNECT_BACKOFF = Duration.ofSeconds(30);
+
+    private static final Logger LOG = Logger.getLogger(CredentialChangeListener.class);
+
+    private final Vertx vertx;
+    private final Pool client;
+    private final Event<CredentialChanged> events;
+    private final Clock clock;
+    private final PgConnectOptions connectOptions;
+    private final long catchUpOverlap;
+    private final long reconnectDelayMillis;
+    private final Duration outboxRetention;
+
+    /**
+     * Highest outbox sequence applied on this node, or -1 before the first
+     * subscription.
+     */
+    private final AtomicLong highestSeen = new AtomicLong(-1);
+
+    private PgSubscriber subscriber;
+
+    private long pruneTimerId = -1;
+
+    public CredentialChangeListener(
+            Vertx vertx,
+            Pool client,
+            Event<CredentialChanged> events,
+            Clock clock,
+            @ConfigProperty(name = "quarkus.datasource.reactive.url") String url,
+            @ConfigProperty(name = "quarkus.datasource.username") String username,
+            @ConfigProperty(name = "quarkus.datasource.password") String password,
+            @ConfigProperty(name = "auth.credential-changes.catch-up-overlap", defaultValue = "100") long catchUpOverlap,
+            @ConfigProperty(name = "auth.credential-changes.reconnect-delay-ms", defaultValue = "1000") long reconnectDelayMillis,
+            @ConfigProperty(name = "auth.credential-changes.outbox-retention", defaultValue = "P1D") Duration outboxRetention) {
+        this.vertx = vertx;
+        this.client = client;
+        this.events = events;
+        this.clock = clock;
+        this.connectOptions = PgConnectOptions.fromUri(url).setUser(username).setPassword(password);
+        this.catchUpOverlap = catchUpOverlap;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+        this.outboxRetention = outboxRetention;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        subscriber = PgSubscriber.subscriber(vertx, connectOptions)
+                // Never give up: a node without the listener would serve stale state
+                .reconnectPolicy(retries -> reconnectDelayMillis);
+
+        subscriber.channel(CHANNEL)
+                .handler(this::onNotification)
+                // Called on the first subscription and again after every reconnect
+                .subscribeHandler(this::catchUp);
+
+        // The reconnect policy only covers connections that were established
+        // once, so the first connect retries on its own
+        subscriber.connect()
+                .onFailure().invoke(failure -> LOG.warnf(failure, "Could not subscribe to '%s', retrying", CHANNEL))
+                .onFailure().retry()
+                .withBackOff(Duration.ofMillis(Math.max(1, reconnectDelayMillis)), MAX_CONNECT_BACKOFF)
+                .indefinitely()
+                .subscribe().with(
+                        ignored -> LOG.infof("Listening for credential changes on '%s'", CHANNEL),
+                        failure -> LOG.errorf(failure, "Gave up subscribing to '%s'", CHANNEL));
+
+        pruneTimerId = vertx.setPeriodic(PRUNE_INTERVAL.toMillis(), id -> pruneOutbox());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (pruneTimerId != -1) {
+            vertx.cancelTimer(pruneTimerId);
+        }
+        if (subscriber != null) {
+            subscriber.closeAndAwait();
+        }
+    }
+
+    private void onNotification(String payload) {
+        // "<sequence>,<credential_id>,<change_type>,<occurred_at epoch millis>"
+        String[] parts = payload.split(",", 4);
+        if (parts.length != 4) {
+            LOG.warnf("Ignoring malformed credential change payload: %s", payload);
+            return;
+        }
+        try {
+            apply(new CredentialChanged(
+                    Long.parseLong(parts[0]),
+                    UUID.fromString(parts[1]),
+                    CredentialChangeType.valueOf(parts[2]),
+                    Instant.ofEpochMilli(Long.parseLong(parts[3]))));
+        } catch (IllegalArgumentException e) {
+            LOG.warnf("Ignoring malformed credential change payload: %s", payload);
+        }
+    }
+
+    private void catchUp() {
+        long from = highestSeen.get();
+        if (from < 0) {
+            // First subscription: nothing is cached yet, so just start from the head
+            client.query("SELECT coalesce(max(sequence), 0) AS head FROM credential_outbox")
+                    .execute()
+                    .subscribe().with(
+                            rows -> highestSeen.accumulateAndGet(
+                                    rows.iterator().next().getLong("head"), Math::max),
+                            failure -> LOG.error("Could not read credential outbox head", failure));
+            return;
+        }
+
+        client.preparedQuery("SELECT sequence, credential_id, change_type, "
+                        + EPOCH_MILLIS + " AS occurred_at FROM credential_outbox "
+                        + "WHERE sequence > $1 ORDER BY sequence")
+                .execute(Tuple.of(Math.max(0, from - catchUpOverlap)))
+                .subscribe().with(
+                        rows -> {
+                            int replayed = 0;
+                            for (Row row : rows) {
+                                apply(PgCredentialChangeRepository.fromRow(row));
+                                replayed++;
+                            }
+                            LOG.infof("Replayed %d credential changes after sequence %d",
+                                    replayed, from - catchUpOverlap);
+                        },
+                        failure -> LOG.error("Credential change catch-up failed", failure));
+    }
+
+    private void pruneOutbox() {
+        Instant cutoff = clock.instant().minus(outboxRetention);
+        client.preparedQuery("DELETE FROM credential_outbox WHERE occurred_at < $1")
+                .execute(Tuple.of(PgTimestamps.toOffset(cutoff)))
+                .subscribe().with(
+                        rows -> {
+                            if (rows.rowCount() > 0) {
+                                LOG.infof("Pruned %d credential outbox rows older than %s",
+                                        rows.rowCount(), cutoff);
+                            }
+                        },
+                        failure -> LOG.error("Credential outbox pruning failed", failure));
+    }
+
+    private void apply(CredentialChanged change) {
+        highestSeen.accumulateAndGet(change.sequence(), Math::max);
+        events.fire(change);
+    }
+}
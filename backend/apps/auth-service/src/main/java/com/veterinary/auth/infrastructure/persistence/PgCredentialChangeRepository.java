@@ -0,0 +1,68 @@
+package com.veterinary.auth.infrastructure.persistence;
+
+import com.veterinary.auth.domain.event.CredentialChangeType;
+import com.veterinary.auth.domain.event.CredentialChanged;
+import com.veterinary.auth.domain.repository.CredentialChangeRepository;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reactive PostgreSQL implementation of {@link CredentialChangeRepository}.
+ *
+ * <p>
+ * Reads {@code credential_outbox} on the primary. Time-bounded reads use the
+ * {@code credential_outbox_occurred_at} index from
+ * {@code V3__credential_outbox.sql}.</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class PgCredentialChangeRepository implements CredentialChangeRepository {
+
+    private final Pool client;
+
+    public PgCredentialChangeRepository(Pool client) {
+        this.client = client;
+    }
+
+    @Override
+    public Uni<List<CredentialChanged>> findSince(Instant since, Set<CredentialChangeType> types) {
+        if (types.isEmpty()) {
+            return Uni.createFrom().item(List.of());
+        }
+
+        String[] typeNames = types.stream().map(Enum::name).toArray(String[]::new);
+        return client.preparedQuery("SELECT sequence, credential_id, change_type, "
+                        + CredentialChangeListener.EPOCH_MILLIS + " AS occurred_at "
+                        + "FROM credential_outbox "
+                        + "WHERE occurred_at > $1 AND change_type = ANY($2) ORDER BY sequence")
+                .execute(Tuple.of(PgTimestamps.toOffset(since), typeNames))
+                .map(rows -> {
+                    List<CredentialChanged> changes = new ArrayList<>(rows.size());
+                    for (Row row : rows) {
+                        changes.add(fromRow(row));
+                    }
+                    return changes;
+                });
+    }
+
+    /**
+     * Maps an outbox row selected with {@code occurred_at} as epoch millis
+     * ({@link CredentialChangeListener#EPOCH_MILLIS}).
+     */
+    static CredentialChanged fromRow(Row row) {
+        return new CredentialChanged(
+                row.getLong("sequence"),
+                row.getUUID("credential_id"),
+                CredentialChangeType.valueOf(row.getString("change_type")),
+                Instant.ofEpochMilli(row.getLong("occurred_at")));
+    }
+}
@@ -0,0 +1,316 @@
+package com.veterinary.auth.infrastructure.persistence;
+
+import auth.Auth.AuthProvider;
+import com.veterinary.auth.domain.event.CredentialChangeType;
+import com.veterinary.auth.domain.model.Credential;
+import com.veterinary.auth.domain.model.CredentialField;
+import com.veterinary.auth.domain.model.CredentialStatus;
+import com.veterinary.auth.domain.repository.CredentialRepository;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.SqlConnection;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reactive PostgreSQL implementation of {@link CredentialRepository}.
+ *
+ * <p>
+ * Enum columns are stored as lowercase names ({@code 'active'}, {@code 'local'})
+ * and mapped back with {@link Locale#ROOT} so the JVM's default locale can never
+ * change the result.</p>
+ *
+ * <p>
+ * Login lookups ({@link #findByEmail}, {@link #findByAuthSubject}) go through
+ * the {@link ReadReplicaRouter}; everything else uses the primary.</p>
+ *
+ * <p>
+ * {@link #update} only writes the columns in
+ * {@link Credential#getDirtyFields()}, so a login touches two columns instead
+ * of eleven. Fields that differ from the previous state without being marked
+ * dirty (a copy made with {@code toBuilder()}) are written too.</p>
+ *
+ * <h2>Password Hash Formats</h2>
+ * <p>
+ * {@code password_hash} holds PHC strings; {@code password_hash_bin} holds the
+ * compact binary format of
+ * {@link com.veterinary.auth.infrastructure.security.Argon2Hasher}. Both are
+ * read during the migration, and {@link #replacePasswordHash} moves a row from
+ * the first to the second. The column comes from
+ * {@code V4__credentials_password_hash_bin.sql}; {@code password_hash} can be
+ * dropped once no row has it set any more.</p>
+ *
+ * <h2>Change Outbox</h2>
+ * <p>
+ * {@link #update} appends one {@code credential_outbox} row per
+ * {@link CredentialChangeType} and calls {@code pg_notify} in the same
+ * transaction. Postgres only delivers the notification on commit, so listeners
+ * never see a change that was rolled back. A change that ends sessions also
+ * revokes the credential's refresh tokens in that transaction.</p>
+ * <p>
+ * {@code occurred_at} comes from the application {@link Clock}, the same clock
+ * that stamps JWT {@code iat}, not from the database's {@code now()}: the JWT
+ * revocation list compares the two, and the database host's clock may be off
+ * from ours by more than a second. The table comes from
+ * {@code V3__credential_outbox.sql}.</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class PgCredentialRepository implements CredentialRepository {
+
+    static final String COLUMNS = "id, email, password_hash, password_hash_bin, auth_provider, auth_subject, "
+            + "mfa_enabled, status, email_verified_at, last_login_at, created_at, "
+            + "updated_at, deleted_at";
+
+    private final Pool client;
+    private final ReadReplicaRouter readRouter;
+    private final Clock clock;
+
+    public PgCredentialRepository(Pool client, ReadReplicaRouter readRouter, Clock clock) {
+        this.client = client;
+        this.readRouter = readRouter;
+        this.clock = clock;
+    }
+
+    @Override
+    public Uni<Credential> findById(UUID id) {
+        return client.preparedQuery("SELECT " + COLUMNS + " FROM credentials WHERE id = $1")
+                .execute(Tuple.of(id))
+                .map(PgCredentialRepository::firstOrNull);
+    }
+
+    @Override
+    public Uni<Credential> findByEmail(String email) {
+        Tuple params = Tuple.of(email.toLowerCase(Locale.ROOT));
+        return readRouter.readCredential(pool -> pool
+                .preparedQuery("SELECT " + COLUMNS + " FROM credentials WHERE email = $1")
+                .execute(params)
+                .map(PgCredentialRepository::firstOrNull));
+    }
+
+    @Override
+    public Uni<Credential> findByAuthSubject(AuthProvider provider, String authSubject) {
+        Tuple params = Tuple.of(provider.name().toLowerCase(Locale.ROOT), authSubject);
+        return readRouter.readCredential(pool -> pool
+                .preparedQuery("SELECT " + COLUMNS + " FROM credentials "
+                        + "WHERE auth_provider = $1 AND auth_subject = $2")
+                .execute(params)
+                .map(PgCredentialRepository::firstOrNull));
+    }
+
+    @Override
+    public Uni<Credential> insert(Credential credential) {
+        Tuple params = Tuple.tuple()
+                .addValue(credential.getId())
+                .addValue(credential.getEmail())
+                .addValue(credential.getPasswordHash())
+                .addValue(toBuffer(credential.getPasswordHashBinary()))
+                .addValue(credential.getAuthProvider().name().toLowerCase(Locale.ROOT))
+                .addValue(credential.getAuthSubject())
+                .addValue(credential.isMfaEnabled())
+                .addValue(credential.getStatus().name().toLowerCase(Locale.ROOT))
+                .addValue(PgTimestamps.toOffset(credential.getEmailVerifiedAt()))
+                .addValue(PgTimestamps.toOffset(credential.getLastLoginAt()))
+                .addValue(PgTimestamps.toOffset(credential.getCreatedAt()))
+                .addValue(PgTimestamps.toOffset(credential.getUpdatedAt()))
+                .addValue(PgTimestamps.toOffset(credential.getDeletedAt()));
+
+        // ON CONFLICT DO NOTHING: a duplicate is an answer, not an error to unwind
+        return client.preparedQuery("INSERT INTO credentials (" + COLUMNS + ") "
+                        + "VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10, $11, $12, $13) "
+                        + "ON CONFLICT DO NOTHING")
+                .execute(params)
+                .map(rows -> rows.rowCount() == 1 ? credential.asPersisted() : null);
+    }
+
+    @Override
+    public Uni<Credential> update(Credential previous, Credential updated) {
+        Set<CredentialField> fields = EnumSet.noneOf(CredentialField.class);
+        fields.addAll(updated.getDirtyFields());
+        fields.addAll(updated.fieldsChangedFrom(previous));
+        if (fields.isEmpty()) {
+            return Uni.createFrom().item(updated.asPersisted());
+        }
+
+        Tuple params = Tuple.of(updated.getId());
+        String sql = buildUpdate(updated, fields, params);
+        Set<CredentialChangeType> changes = CredentialChangeType.between(previous, updated);
+
+        // Nothing to broadcast (e.g. last login): one statement, no BEGIN/COMMIT round trips
+        Uni<Void> write = changes.isEmpty()
+                ? client.preparedQuery(sql).execute(params).replaceWithVoid()
+                : client.withTransaction(connection -> connection
+                        .preparedQuery(sql)
+                        .execute(params)
+                        .flatMap(ignored -> revokeSessions(connection, updated, changes))
+                        .flatMap(ignored -> appendToOutbox(connection, updated.getId(), changes,
+                                clock.instant())));
+
+        return write
+                // Our own next read must not wait for the notification round trip
+                .invoke(ignored -> readRouter.pin(updated.getId()))
+                .replaceWith(updated::asPersisted);
+    }
+
+    /**
+     * Builds an UPDATE for the given columns only, appending their values to
+     * {@code params} after the ID ({@code $1}).
+     *
+     * <pre>{@code
+     * fields = [LAST_LOGIN_AT, UPDATED_AT]
+     * → UPDATE credentials SET last_login_at = $2, updated_at = $3 WHERE id = $1
+     * }</pre>
+     */
+    private static String buildUpdate(Credential updated, Set<CredentialField> fields, Tuple params) {
+        StringBuilder sql = new StringBuilder("UPDATE credentials SET ");
+        int index = 2;
+        for (CredentialField field : fields) {
+            if (index > 2) {
+                sql.append(", ");
+            }
+            sql.append(column(field)).append(" = $").append(index++);
+            params.addValue(value(field, updated));
+        }
+        return sql.append(" WHERE id = $1").toString();
+    }
+
+    private static String column(CredentialField field) {
+        return switch (field) {
+            case EMAIL -> "email";
+            case PASSWORD_HASH -> "password_hash";
+            case PASSWORD_HASH_BINARY -> "password_hash_bin";
+            case AUTH_PROVIDER -> "auth_provider";
+            case AUTH_SUBJECT -> "auth_subject";
+            case MFA_ENABLED -> "mfa_enabled";
+            case STATUS -> "status";
+            case EMAIL_VERIFIED_AT -> "email_verified_at";
+            case LAST_LOGIN_AT -> "last_login_at";
+            case UPDATED_AT -> "updated_at";
+            case DELETED_AT -> "deleted_at";
+        };
+    }
+
+    private static Object value(CredentialField field, Credential credential) {
+        return switch (field) {
+            case EMAIL -> credential.getEmail();
+            case PASSWORD_HASH -> credential.getPasswordHash();
+            case PASSWORD_HASH_BINARY -> toBuffer(credential.getPasswordHashBinary());
+            case AUTH_PROVIDER -> credential.getAuthProvider().name().toLowerCase(Locale.ROOT);
+            case AUTH_SUBJECT -> credential.getAuthSubject();
+            case MFA_ENABLED -> credential.isMfaEnabled();
+            case STATUS -> credential.getStatus().name().toLowerCase(Locale.ROOT);
+            case EMAIL_VERIFIED_AT -> PgTimestamps.toOffset(credential.getEmailVerifiedAt());
+            case LAST_LOGIN_AT -> PgTimestamps.toOffset(credential.getLastLoginAt());
+            case UPDATED_AT -> PgTimestamps.toOffset(credential.getUpdatedAt());
+            case DELETED_AT -> PgTimestamps.toOffset(credential.getDeletedAt());
+        };
+    }
+
+    @Override
+    public Uni<Boolean> replacePasswordHash(Credential current, Credential upgraded) {
+        Tuple params = Tuple.tuple()
+                .addValue(current.getId())
+                .addValue(current.getPasswordHash())
+                .addValue(toBuffer(current.getPasswordHashBinary()))
+                .addValue(upgraded.getPasswordHash())
+                .addValue(toBuffer(upgraded.getPasswordHashBinary()))
+                .addValue(PgTimestamps.toOffset(upgraded.getUpdatedAt()));
+
+        // IS NOT DISTINCT FROM: one of the two expected values is always NULL
+        return client.preparedQuery("UPDATE credentials "
+                        + "SET password_hash = $4, password_hash_bin = $5, updated_at = $6 WHERE id = $1 "
+                        + "AND password_hash IS NOT DISTINCT FROM $2 "
+                        + "AND password_hash_bin IS NOT DISTINCT FROM $3")
+                .execute(params)
+                .map(rows -> rows.rowCount() == 1)
+                .invoke(replaced -> {
+                    // Like update(): a replica still holding the old hash would trigger the same rehash again
+                    if (replaced) {
+                        readRouter.pin(current.getId());
+                    }
+                });
+    }
+
+    /**
+     * Revokes the credential's refresh tokens if a change ends its sessions.
+     * Same transaction: no refresh token outlives the change that ended it.
+     */
+    private static Uni<Void> revokeSessions(
+            SqlConnection connection, Credential updated, Set<CredentialChangeType> changes) {
+        if (changes.stream().noneMatch(CredentialChangeType::endsSessions)) {
+            return Uni.createFrom().voidItem();
+        }
+        return PgRefreshTokenRepository.revokeAllForCredential(
+                        connection, updated.getId(), updated.getUpdatedAt())
+                .replaceWithVoid();
+    }
+
+    private static Uni<Void> appendToOutbox(SqlConnection connection, UUID credentialId,
+            Set<CredentialChangeType> changes, Instant occurredAt) {
+        if (changes.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+
+        List<Tuple> batch = new ArrayList<>(changes.size());
+        for (CredentialChangeType change : changes) {
+            batch.add(Tuple.of(credentialId, change.name(), PgTimestamps.toOffset(occurredAt)));
+        }
+
+        // Payload: "<sequence>,<credential_id>,<change_type>,<occurred_at epoch millis>"
+        return connection.preparedQuery("WITH appended AS ("
+                        + "INSERT INTO credential_outbox (credential_id, change_type, occurred_at) VALUES ($1, $2, $3) "
+                        + "RETURNING sequence, credential_id, change_type, occurred_at) "
+                        + "SELECT pg_notify('" + CredentialChangeListener.CHANNEL + "', "
+                        + "sequence || ',' || credential_id || ',' || change_type || ',' || "
+                        + CredentialChangeListener.EPOCH_MILLIS + ") FROM appended")
+                .executeBatch(batch)
+                .replaceWithVoid();
+    }
+
+    static Credential firstOrNull(RowSet<Row> rows) {
+        Iterator<Row> iterator = rows.iterator();
+        return iterator.hasNext() ? fromRow(iterator.next()) : null;
+    }
+
+    static Credential fromRow(Row row) {
+        return Credential.builder()
+                .id(row.getUUID("id"))
+                .email(row.getString("email"))
+                .passwordHash(row.getString("password_hash"))
+                .passwordHashBinary(toBytes(row.getBuffer("password_hash_bin")))
+                .authProvider(AuthProvider.valueOf(
+                        row.getString("auth_provider").toUpperCase(Locale.ROOT)))
+                .authSubject(row.getString("auth_subject"))
+                .mfaEnabled(row.getBoolean("mfa_enabled"))
+                .status(CredentialStatus.valueOf(
+                        row.getString("status").toUpperCase(Locale.ROOT)))
+                .emailVerifiedAt(PgTimestamps.toInstant(row.getOffsetDateTime("email_verified_at")))
+                .lastLoginAt(PgTimestamps.toInstant(row.getOffsetDateTime("last_login_at")))
+                .createdAt(PgTimestamps.toInstant(row.getOffsetDateTime("created_at")))
+                .updatedAt(PgTimestamps.toInstant(row.getOffsetDateTime("updated_at")))
+                .deletedAt(PgTimestamps.toInstant(row.getOffsetDateTime("deleted_at")))
+                .build();
+    }
+
+    private static Buffer toBuffer(byte[] value) {
+        return value == null ? null : Buffer.buffer(value);
+    }
+
+    private static byte[] toBytes(Buffer value) {
+        return value == null ? null : value.getBytes();
+    }
+}
@@ -0,0 +1,122 @@
+package com.veterinary.auth.infrastructure.persistence;
+
+import com.veterinary.auth.domain.model.RefreshToken;
+import com.veterinary.auth.domain.repository.RefreshTokenRepository;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.SqlClient;
+import io.vertx.mutiny.sqlclient.SqlResult;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.UUID;
+
+/**
+ * Reactive PostgreSQL implementation of {@link RefreshTokenRepository}.
+ *
+ * <h2>Schema</h2>
+ * <p>
+ * {@code V2__refresh_tokens.sql} in {@code src/main/resources/db/migration}:
+ * {@code token_hash} is unique, and {@code credential_id} and
+ * {@code family_id} each have a partial index on live tokens.</p>
+ *
+ * <p>
+ * The partial indexes only cover live tokens, so bulk revocation stays cheap
+ * no matter how many spent tokens accumulate.</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class PgRefreshTokenRepository implements RefreshTokenRepository {
+
+    private static final String COLUMNS =
+            "id, credential_id, family_id, token_hash, issued_at, expires_at, revoked_at";
+
+    private final Pool client;
+
+    public PgRefreshTokenRepository(Pool client) {
+        this.client = client;
+    }
+
+    @Override
+    public Uni<RefreshToken> insert(RefreshToken token) {
+        return client.preparedQuery("INSERT INTO refresh_tokens (" + COLUMNS + ") "
+                        + "VALUES ($1, $2, $3, $4, $5, $6, $7)")
+                .execute(Tuple.tuple()
+                        .addValue(token.getId())
+                        .addValue(token.getCredentialId())
+                        .addValue(token.getFamilyId())
+                        .addValue(Buffer.buffer(token.getTokenHash()))
+                        .addValue(PgTimestamps.toOffset(token.getIssuedAt()))
+                        .addValue(PgTimestamps.toOffset(token.getExpiresAt()))
+                        .addValue(PgTimestamps.toOffset(token.getRevokedAt())))
+                .replaceWith(token);
+    }
+
+    @Override
+    public Uni<RefreshToken> consume(byte[] tokenHash, Instant now) {
+        return client.preparedQuery("UPDATE refresh_tokens SET revoked_at = $2 "
+                        + "WHERE token_hash = $1 AND revoked_at IS NULL AND expires_at > $2 "
+                        + "RETURNING " + COLUMNS)
+                .execute(Tuple.of(Buffer.buffer(tokenHash), PgTimestamps.toOffset(now)))
+                .map(PgRefreshTokenRepository::firstOrNull);
+    }
+
+    @Override
+    public Uni<RefreshToken> findByHash(byte[] tokenHash) {
+        return client.preparedQuery("SELECT " + COLUMNS + " FROM refresh_tokens "
+                        + "WHERE token_hash = $1")
+                .execute(Tuple.of(Buffer.buffer(tokenHash)))
+                .map(PgRefreshTokenRepository::firstOrNull);
+    }
+
+    @Override
+    public Uni<Integer> revokeFamily(UUID familyId, Instant now) {
+        return client.preparedQuery("UPDATE refresh_tokens SET revoked_at = $2 "
+                        + "WHERE family_id = $1 AND revoked_at IS NULL")
+                .execute(Tuple.of(familyId, PgTimestamps.toOffset(now)))
+                .map(SqlResult::rowCount);
+    }
+
+    /**
+     * Revokes every usable token of a credential (suspension, deletion,
+     * password change).
+     *
+     * <p>
+     * Runs on the caller's connection, so the revocation commits or rolls back
+     * together with the change that ended the sessions.</p>
+     *
+     * @param connection   the transaction of the credential change
+     * @param credentialId the credential whose sessions end
+     * @param now          the revocation time
+     * @return the number of tokens revoked
+     */
+    static Uni<Integer> revokeAllForCredential(SqlClient connection, UUID credentialId, Instant now) {
+        return connection.preparedQuery("UPDATE refresh_tokens SET revoked_at = $2 "
+                        + "WHERE credential_id = $1 AND revoked_at IS NULL")
+                .execute(Tuple.of(credentialId, PgTimestamps.toOffset(now)))
+                .map(SqlResult::rowCount);
+    }
+
+    private static RefreshToken firstOrNull(RowSet<Row> rows) {
+        Iterator<Row> iterator = rows.iterator();
+        return iterator.hasNext() ? fromRow(iterator.next()) : null;
+    }
+
+    private static RefreshToken fromRow(Row row) {
+        return RefreshToken.builder()
+                .id(row.getUUID("id"))
+                .credentialId(row.getUUID("credential_id"))
+                .familyId(row.getUUID("family_id"))
+                .tokenHash(row.getBuffer("token_hash").getBytes())
+                .issuedAt(PgTimestamps.toInstant(row.getOffsetDateTime("issued_at")))
+                .expiresAt(PgTimestamps.toInstant(row.getOffsetDateTime("expires_at")))
+                .revokedAt(PgTimestamps.toInstant(row.getOffsetDateTime("revoked_at")))
+                .build();
+    }
+}
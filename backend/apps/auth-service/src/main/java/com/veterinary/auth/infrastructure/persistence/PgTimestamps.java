@@ -0,0 +1,38 @@
+package com.veterinary.auth.infrastructure.persistence;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Converts between domain {@link Instant}s and {@code timestamptz} values.
+ *
+ * <p>
+ * The reactive client binds and reads {@code timestamptz} as
+ * {@link OffsetDateTime}. Every repository in this package goes through here,
+ * so all of them write UTC and map SQL {@code NULL} to {@code null} the same
+ * way.</p>
+ *
+ * @author Auth Service Team
+ */
+final class PgTimestamps {
+
+    private PgTimestamps() {
+    }
+
+    /**
+     * @param value a {@code timestamptz} column value, possibly {@code null}
+     * @return the same instant, or {@code null}
+     */
+    static Instant toInstant(OffsetDateTime value) {
+        return value == null ? null : value.toInstant();
+    }
+
+    /**
+     * @param value an instant, possibly {@code null}
+     * @return the instant at UTC, ready to bind as {@code timestamptz}, or {@code null}
+     */
+    static OffsetDateTime toOffset(Instant value) {
+        return value == null ? null : value.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,278 @@
+package com.veterinary.auth.infrastructure.persistence;
+
+import com.veterinary.auth.domain.event.CredentialChanged;
+import com.veterinary.auth.domain.model.Credential;
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.sqlclient.data.Numeric;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Routes credential lookups to read replicas, falling back to the primary
+ * whenever a replica might be stale.
+ *
+ * <p>
+ * Login traffic is almost entirely {@code SELECT ... WHERE email = $1}, so
+ * moving it off the primary leaves the primary for writes. Replicas are
+ * configured as named Quarkus reactive datasources and listed in
+ * {@code auth.read-replicas.datasources}; with none listed, everything stays on
+ * the primary.</p>
+ *
+ * <h2>Replica Selection</h2>
+ * <p>
+ * Each replica keeps an exponentially weighted moving average of its response
+ * time, fed by real queries and by a periodic probe. A read picks two healthy
+ * replicas at random and uses the faster one ("power of two choices"): slow
+ * replicas get less traffic without the herd effect of always picking the
+ * single fastest one.</p>
+ *
+ * <h2>Staleness Guards</h2>
+ * <pre>
+ * ┌───────────────────────────────┬──────────────────────────────────────────┐
+ * │ Risk                          │ Guard                                    │
+ * ├───────────────────────────────┼──────────────────────────────────────────┤
+ * │ Replica far behind            │ Probe measures replay lag; a replica     │
+ * │                               │ over {@code max-lag} is skipped          │
+ * │ Just-updated credential       │ ID pinned to primary for                 │
+ * │ (suspended, password changed) │ {@code pin-window}, on every node        │
+ * │ Just-created credential       │ Miss on replica is retried on primary    │
+ * │ Replica down                  │ Failure is retried on primary            │
+ * └───────────────────────────────┴──────────────────────────────────────────┘
+ * </pre>
+ *
+ * <p>
+ * Pins come from {@link CredentialChanged} events, which every node receives
+ * through the outbox listener. Since login looks up by email, the pin is checked
+ * on the row the replica returns: if its ID is pinned, the read is repeated on
+ * the primary.</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class ReadReplicaRouter {
+
+    private static final Logger LOG = Logger.getLogger(ReadReplicaRouter.class);
+
+    /**
+     * Replay lag in seconds; zero when the replica has applied everything it
+     * received (an idle primary would otherwise look like growing lag).
+     * {@code NULL}, i.e. unhealthy, when no WAL receiver is streaming: a replica
+     * cut off from the primary has replayed all it received, yet falls further
+     * behind every second.
+     */
+    private static final String LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE extract(epoch FROM now() - pg_last_xact_replay_timestamp()) "
+            + "END AS lag";
+
+    /**
+     * Weight of the newest sample in the latency average.
+     */
+    private static final double EWMA_ALPHA = 0.2;
+
+    /**
+     * One replica pool and what we currently know about it.
+     */
+    private static final class Replica {
+        private final String name;
+        private final Pool pool;
+        private volatile double latencyMillis;
+        private volatile boolean healthy;
+
+        private Replica(String name, Pool pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+
+        private void record(long elapsedNanos) {
+            double sample = elapsedNanos / 1_000_000.0;
+            // Racy read-modify-write is fine: this is only a routing hint
+            latencyMillis = latencyMillis == 0 ? sample : latencyMillis + EWMA_ALPHA * (sample - latencyMillis);
+        }
+    }
+
+    private final Vertx vertx;
+    private final Pool primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final long pinWindowNanos;
+    private final Duration probeInterval;
+    private final Map<UUID, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    private long probeTimerId = -1;
+
+    public ReadReplicaRouter(
+            Vertx vertx,
+            Pool primary,
+            @Any Instance<Pool> pools,
+            @ConfigProperty(name = "auth.read-replicas.datasources") Optional<List<String>> replicaNames,
+            @ConfigProperty(name = "auth.read-replicas.max-lag", defaultValue = "PT1S") Duration maxLag,
+            @ConfigProperty(name = "auth.read-replicas.pin-window", defaultValue = "PT5S") Duration pinWindow,
+            @ConfigProperty(name = "auth.read-replicas.probe-interval", defaultValue = "PT2S") Duration probeInterval) {
+        this.vertx = vertx;
+        this.primary = primary;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.pinWindowNanos = pinWindow.toNanos();
+        this.probeInterval = probeInterval;
+
+        List<Replica> configured = new ArrayList<>();
+        for (String name : replicaNames.orElse(List.of())) {
+            Pool pool = pools.select(Pool.class, new ReactiveDataSource.ReactiveDataSourceLiteral(name)).get();
+            configured.add(new Replica(name, pool));
+        }
+        this.replicas = List.copyOf(configured);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (replicas.isEmpty()) {
+            LOG.info("No read replicas configured, credential lookups use the primary");
+            return;
+        }
+        probe();
+        probeTimerId = vertx.setPeriodic(probeInterval.toMillis(), id -> probe());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (probeTimerId != -1) {
+            vertx.cancelTimer(probeTimerId);
+        }
+    }
+
+    /**
+     * Pins a credential to the primary for the configured window.
+     *
+     * <p>
+     * Called directly by the writing node (so its own next read is safe even
+     * before the notification comes back) and for every change any node makes.</p>
+     *
+     * @param credentialId the credential that was just written
+     */
+    public void pin(UUID credentialId) {
+        pinnedUntil.put(credentialId, System.nanoTime() + pinWindowNanos);
+    }
+
+    void onCredentialChanged(@Observes CredentialChanged change) {
+        pin(change.credentialId());
+    }
+
+    /**
+     * Runs a single-credential lookup on a replica when that is safe, and on
+     * the primary otherwise.
+     *
+     * @param query the lookup, run against whichever pool is chosen
+     * @return the credential, or {@code null} if the primary has none either
+     */
+    public Uni<Credential> readCredential(Function<Pool, Uni<Credential>> query) {
+        Replica replica = select();
+        if (replica == null) {
+            return query.apply(primary);
+        }
+
+        long start = System.nanoTime();
+        return query.apply(replica.pool)
+                .invoke(ignored -> replica.record(System.nanoTime() - start))
+                .onFailure().invoke(failure -> {
+                    replica.healthy = false;
+                    LOG.warnf(failure, "Read replica '%s' failed, using primary", replica.name);
+                })
+                .onFailure().recoverWithNull()
+                .flatMap(credential -> credential == null || isPinned(credential.getId())
+                        ? query.apply(primary)
+                        : Uni.createFrom().item(credential));
+    }
+
+    private boolean isPinned(UUID credentialId) {
+        Long until = pinnedUntil.get(credentialId);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until < 0) {
+            return true;
+        }
+        pinnedUntil.remove(credentialId, until);
+        return false;
+    }
+
+    /**
+     * Puts a replica in or out of rotation by its last measured replay lag.
+     *
+     * @param replicaName the datasource name of the replica
+     * @param lagSeconds  its replay lag, or {@code null} if it is not streaming
+     */
+    void recordLag(String replicaName, Double lagSeconds) {
+        for (Replica replica : replicas) {
+            if (replica.name.equals(replicaName)) {
+                recordLag(replica, lagSeconds);
+            }
+        }
+    }
+
+    private void recordLag(Replica replica, Double lagSeconds) {
+        // No lag means no streaming receiver: out of rotation
+        boolean healthy = lagSeconds != null && lagSeconds <= maxLagSeconds;
+        if (healthy != replica.healthy) {
+            LOG.infof("Read replica '%s' is now %s (lag %s)", replica.name,
+                    healthy ? "in rotation" : "out of rotation",
+                    lagSeconds == null ? "unknown, not streaming" : "%.3fs".formatted(lagSeconds));
+        }
+        replica.healthy = healthy;
+    }
+
+    private Replica select() {
+        List<Replica> healthy = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                healthy.add(replica);
+            }
+        }
+        if (healthy.size() <= 1) {
+            return healthy.isEmpty() ? null : healthy.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Replica a = healthy.get(random.nextInt(healthy.size()));
+        Replica b = healthy.get(random.nextInt(healthy.size()));
+        return a.latencyMillis <= b.latencyMillis ? a : b;
+    }
+
+    private void probe() {
+        long now = System.nanoTime();
+        pinnedUntil.values().removeIf(until -> now - until >= 0);
+
+        for (Replica replica : replicas) {
+            long start = System.nanoTime();
+            replica.pool.query(LAG_QUERY).execute().subscribe().with(
+                    rows -> {
+                        replica.record(System.nanoTime() - start);
+                        Numeric lag = rows.iterator().next().getNumeric("lag");
+                        recordLag(replica, lag == null ? null : lag.doubleValue());
+                    },
+                    failure -> {
+                        if (replica.healthy) {
+                            LOG.warnf(failure, "Read replica '%s' probe failed", replica.name);
+                        }
+                        replica.healthy = false;
+                    });
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.veterinary.auth.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.pgclient.PgConnection;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.SqlConnection;
+import io.vertx.mutiny.sqlclient.Tuple;
+import io.vertx.pgclient.PgConnectOptions;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves soft-deleted credentials past their retention window out of the hot
+ * {@code credentials} table into {@code credentials_archive}.
+ *
+ * <p>
+ * {@code asSoftDeleted(Clock)} keeps the row so an administrator can still restore
+ * the account. After {@code auth.archival.retention}, it is just weight: every
+ * dead row bloats the table and the email and OAuth-subject indexes that every
+ * login probes. It also keeps the email taken, so the user can't register
+ * again.</p>
+ *
+ * <h2>One Run</h2>
+ * <pre>
+ * dedicated connection (idle)          pool: one short statement or tx per chunk
+ * ───────────────────────────          ─────────────────────────────────────────
+ * pg_try_advisory_lock ── taken? ──► skip run (another node is on it)
+ *                                      read checkpoint
+ *                                  ┌─► database busy? ──► back off, ask again
+ *                                  │   SELECT ids WHERE deleted_at &lt; cutoff
+ *                                  │     AND id &gt; last id ORDER BY id LIMIT batch-size
+ *                                  │   tx: DELETE refresh tokens
+ *                                  │       DELETE credentials RETURNING *
+ *                                  │         → INSERT INTO credentials_archive
+ *                                  │       UPSERT checkpoint = last id
+ *                                  │   pause (duty cycle)
+ *                                  └── full chunk and run time left?
+ *                                      reset checkpoint once a chunk comes back short
+ * close ── releases the lock
+ * </pre>
+ *
+ * <h2>Why It's Safe to Kill</h2>
+ * <p>
+ * Each chunk moves rows, drops their refresh tokens and advances the checkpoint
+ * in one transaction, so a crash loses at most the chunk in flight, and that
+ * chunk rolls back as a whole. The lock is a session lock on a connection
+ * opened for the run, outside the pool: when the node dies, Postgres drops the
+ * session and the lock with it. The next run (on any node) resumes after the
+ * checkpoint. The DELETE re-checks {@code deleted_at}, so a credential
+ * reactivated after its chunk was read stays where it is.</p>
+ *
+ * <h2>Throttling</h2>
+ * <ul>
+ *   <li>Before each chunk, the number of active queries on the database is
+ *   compared to {@code max-active-queries}; above it, the job waits
+ *   {@code backoff} and asks again</li>
+ *   <li>After each chunk, it pauses so it is busy at most {@code duty-cycle} of
+ *   the time: a chunk that took 100 ms at 0.25 is followed by 300 ms of rest,
+ *   so a slow (loaded) database automatically gets longer breaks. At 1.0 there
+ *   is no pause</li>
+ *   <li>Nothing stays open between chunks: each one is a fresh keyset query on
+ *   the {@code credentials_soft_deleted} index, so however long a run takes it
+ *   never holds back vacuum. A run still stops after {@code max-run-time}</li>
+ * </ul>
+ *
+ * <h2>Metrics</h2>
+ * <ul>
+ *   <li>{@code auth.archival.rows.moved}: counter; its rate is rows moved per
+ *   second</li>
+ *   <li>{@code auth.archival.rows.per.second}: throughput of the current or
+ *   last run, throttling included</li>
+ * </ul>
+ *
+ * <h2>Schema</h2>
+ * <p>
+ * Created by {@code V5__credentials_archive.sql} and
+ * {@code V6__credentials_soft_deleted_index.sql} in
+ * {@code src/main/resources/db/migration} (see the README). The job is off by
+ * default; set {@code auth.archival.enabled=true} only once they have run,
+ * otherwise every run fails on the missing tables.</p>
+ * <ul>
+ *   <li>{@code credentials_archive}: the columns of {@code credentials} plus
+ *   {@code archived_at}, without its unique constraints</li>
+ *   <li>{@code archival_checkpoint}: last ID moved, per job</li>
+ *   <li>{@code credentials_soft_deleted}: partial index on {@code credentials}
+ *   for rows with {@code deleted_at} set</li>
+ * </ul>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class SoftDeleteArchiver {
+
+    private static final Logger LOG = Logger.getLogger(SoftDeleteArchiver.class);
+
+    private static final String JOB = "soft-deleted-credentials";
+
+    /**
+     * Advisory lock key for this job; any constant no other job uses.
+     */
+    private static final long LOCK_KEY = 0x617263_68697665L;
+
+    /**
+     * Sorts before every UUIDv7, so a scan from here starts at the beginning.
+     */
+    private static final UUID START = new UUID(0, 0);
+
+    private final Vertx vertx;
+    private final Pool client;
+    private final Clock clock;
+    private final PgConnectOptions connectOptions;
+    private final Counter rowsMoved;
+    private final boolean enabled;
+    private final Duration interval;
+    private final Duration retention;
+    private final int batchSize;
+    private final double dutyCycle;
+    private final int maxActiveQueries;
+    private final Duration backoff;
+    private final Duration maxRunTime;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+    private volatile double rowsPerSecond;
+    private long timerId = -1;
+
+    public SoftDeleteArchiver(
+            Vertx vertx,
+            Pool client,
+            Clock clock,
+            MeterRegistry registry,
+            @ConfigProperty(name = "quarkus.datasource.reactive.url") String url,
+            @ConfigProperty(name = "quarkus.datasource.username") String username,
+            @ConfigProperty(name = "quarkus.datasource.password") String password,
+            @ConfigProperty(name = "auth.archival.enabled", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "auth.archival.interval", defaultValue = "PT1H") Duration interval,
+            @ConfigProperty(name = "auth.archival.retention", defaultValue = "P30D") Duration retention,
+            @ConfigProperty(name = "auth.archival.batch-size", defaultValue = "500") int batchSize,
+            @ConfigProperty(name = "auth.archival.duty-cycle", defaultValue = "0.25") double dutyCycle,
+            @ConfigProperty(name = "auth.archival.max-active-queries", defaultValue = "16") int maxActiveQueries,
+            @ConfigProperty(name = "auth.archival.backoff", defaultValue = "PT5S") Duration backoff,
+            @ConfigProperty(name = "auth.archival.max-run-time", defaultValue = "PT10M") Duration maxRunTime) {
+        this.vertx = vertx;
+        this.client = client;
+        this.clock = clock;
+        this.connectOptions = PgConnectOptions.fromUri(url).setUser(username).setPassword(password);
+        this.enabled = enabled;
+        this.interval = interval;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.dutyCycle = Math.min(1.0, Math.max(0.01, dutyCycle));
+        this.maxActiveQueries = maxActiveQueries;
+        this.backoff = backoff;
+        this.maxRunTime = maxRunTime;
+
+        this.rowsMoved = registry.counter("auth.archival.rows.moved");
+        registry.gauge("auth.archival.rows.per.second", this, archiver -> archiver.rowsPerSecond);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            LOG.info("Soft-deleted credential archival is disabled");
+            return;
+        }
+        timerId = vertx.setPeriodic(interval.toMillis(), id -> run());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stopping = true;
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+        }
+    }
+
+    /**
+     * Runs one archival pass unless one is already running on this node.
+     */
+    void run() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        Instant cutoff = clock.instant().minus(retention);
+        long startedAt = System.nanoTime();
+
+        // A session lock rather than a transaction one: held for the whole run
+        // without keeping a transaction open, and released when the connection
+        // closes, however the run ends
+        PgConnection.connect(vertx, connectOptions)
+                .flatMap(lockConnection -> lockConnection
+                        .preparedQuery("SELECT pg_try_advisory_lock($1) AS locked")
+                        .execute(Tuple.of(LOCK_KEY))
+                        .flatMap(rows -> rows.iterator().next().getBoolean("locked")
+                                ? archive(cutoff, startedAt)
+                                : Uni.createFrom().item(-1L))
+                        .eventually(() -> lockConnection.close()))
+                .eventually(() -> running.set(false))
+                .subscribe().with(
+                        moved -> {
+                            if (moved > 0) {
+                                LOG.infof("Archived %d soft-deleted credentials in %.1fs (%.0f rows/s)",
+                                        moved, (System.nanoTime() - startedAt) / 1e9, rowsPerSecond);
+                            } else if (moved < 0) {
+                                LOG.debug("Archival skipped, another node is running it");
+                            }
+                        },
+                        failure -> LOG.error("Soft-deleted credential archival failed, will resume "
+                                + "from the last checkpoint", failure));
+    }
+
+    /**
+     * Archives chunk by chunk from the checkpoint. The caller holds the lock.
+     *
+     * @return the number of credentials moved
+     */
+    Uni<Long> archive(Instant cutoff, long startedAt) {
+        return loadCheckpoint().flatMap(checkpoint -> drain(checkpoint, cutoff, startedAt, 0));
+    }
+
+    /**
+     * Moves chunks until one comes back short, the run time is up or the node
+     * shuts down.
+     */
+    private Uni<Long> drain(UUID after, Instant cutoff, long startedAt, long movedSoFar) {
+        if (stopping || System.nanoTime() - startedAt >= maxRunTime.toNanos()) {
+            // Keep the checkpoint: the next run picks up from here
+            return Uni.createFrom().item(movedSoFar);
+        }
+
+        return awaitQuietDatabase(startedAt)
+                .flatMap(ignored -> nextBatch(after, cutoff))
+                .flatMap(ids -> {
+                    if (ids.isEmpty()) {
+                        return saveCheckpoint(START).replaceWith(movedSoFar);
+                    }
+
+                    long batchStart = System.nanoTime();
+                    return moveBatch(ids, cutoff).flatMap(moved -> {
+                        long total = movedSoFar + moved;
+                        rowsMoved.increment(moved);
+                        rowsPerSecond = total / ((System.nanoTime() - startedAt) / 1e9);
+
+                        // Keyset on the last ID read, not moved: reactivated rows don't stall the scan
+                        UUID last = ids.get(ids.size() - 1);
+                        Uni<Long> next = ids.size() < batchSize
+                                ? saveCheckpoint(START).replaceWith(total)
+                                : Uni.createFrom().deferred(() -> drain(last, cutoff, startedAt, total));
+
+                        Duration pause = pauseAfter(System.nanoTime() - batchStart, dutyCycle);
+                        if (pause.isZero()) {
+                            return next;
+                        }
+                        return Uni.createFrom().voidItem()
+                                .onItem().delayIt().by(pause)
+                                .flatMap(ignored -> next);
+                    });
+                });
+    }
+
+    /**
+     * How long to rest after a chunk so the job is busy at most
+     * {@code dutyCycle} of the time: {@code (1 - dutyCycle) / dutyCycle} times
+     * as long as the chunk took, zero at 1.0.
+     */
+    static Duration pauseAfter(long batchNanos, double dutyCycle) {
+        return Duration.ofNanos((long) (batchNanos * (1 - dutyCycle) / dutyCycle));
+    }
+
+    /**
+     * Reads where the last run stopped.
+     *
+     * @return the last ID moved, or one below every UUIDv7 if there is none
+     */
+    Uni<UUID> loadCheckpoint() {
+        return client.preparedQuery("SELECT last_id FROM archival_checkpoint WHERE job = $1")
+                .execute(Tuple.of(JOB))
+                .map(rows -> rows.iterator().hasNext() ? rows.iterator().next().getUUID("last_id") : START);
+    }
+
+    /**
+     * Reads the next chunk of archivable IDs. A plain statement, so no
+     * snapshot outlives it.
+     */
+    Uni<List<UUID>> nextBatch(UUID after, Instant cutoff) {
+        return client.preparedQuery("SELECT id FROM credentials "
+                        + "WHERE deleted_at IS NOT NULL AND deleted_at < $1 AND id > $2 ORDER BY id LIMIT $3")
+                .execute(Tuple.of(PgTimestamps.toOffset(cutoff), after, batchSize))
+                .map(SoftDeleteArchiver::ids);
+    }
+
+    /**
+     * Moves one chunk and advances the checkpoint, all or nothing.
+     *
+     * @return the number of credentials moved (fewer than {@code ids} if some
+     * were reactivated in the meantime)
+     */
+    Uni<Long> moveBatch(List<UUID> ids, Instant cutoff) {
+        UUID[] batch = ids.toArray(UUID[]::new);
+        Tuple params = Tuple.of(batch, PgTimestamps.toOffset(cutoff));
+
+        return client.withTransaction(connection -> connection
+                .preparedQuery("DELETE FROM refresh_tokens WHERE credential_id IN ("
+                        + "SELECT id FROM credentials WHERE id = ANY($1) AND deleted_at < $2)")
+                .execute(params)
+                .flatMap(ignored -> connection
+                        .preparedQuery("WITH moved AS ("
+                                + "DELETE FROM credentials WHERE id = ANY($1) AND deleted_at < $2 "
+                                + "RETURNING " + PgCredentialRepository.COLUMNS + ") "
+                                + "INSERT INTO credentials_archive (" + PgCredentialRepository.COLUMNS + ", archived_at) "
+                                + "SELECT " + PgCredentialRepository.COLUMNS + ", now() FROM moved")
+                        .execute(params))
+                .flatMap(archived -> upsertCheckpoint(connection, batch[batch.length - 1])
+                        .replaceWith((long) archived.rowCount())));
+    }
+
+    /**
+     * Waits while the database is busier than {@code max-active-queries}.
+     */
+    private Uni<Void> awaitQuietDatabase(long startedAt) {
+        return activeQueries()
+                .flatMap(active -> {
+                    if (active <= maxActiveQueries || stopping
+                            || System.nanoTime() - startedAt >= maxRunTime.toNanos()) {
+                        return Uni.createFrom().voidItem();
+                    }
+                    LOG.debugf("Database busy (%d active queries), archival backing off for %s",
+                            active, backoff);
+                    return Uni.createFrom().voidItem()
+                            .onItem().delayIt().by(backoff)
+                            .flatMap(ignored -> awaitQuietDatabase(startedAt));
+                });
+    }
+
+    /**
+     * Counts the queries running on this database right now.
+     */
+    Uni<Long> activeQueries() {
+        return client.query("SELECT count(*) AS active FROM pg_stat_activity "
+                        + "WHERE state = 'active' AND datname = current_database()")
+                .execute()
+                .map(rows -> rows.iterator().next().getLong("active"));
+    }
+
+    Uni<Void> saveCheckpoint(UUID lastId) {
+        return client.withTransaction(connection -> upsertCheckpoint(connection, lastId));
+    }
+
+    private static Uni<Void> upsertCheckpoint(SqlConnection connection, UUID lastId) {
+        return connection.preparedQuery("INSERT INTO archival_checkpoint (job, last_id, updated_at) "
+                        + "VALUES ($1, $2, now()) "
+                        + "ON CONFLICT (job) DO UPDATE SET last_id = excluded.last_id, updated_at = excluded.updated_at")
+                .execute(Tuple.of(JOB, lastId))
+                .replaceWithVoid();
+    }
+
+    private static List<UUID> ids(RowSet<Row> rows) {
+        List<UUID> ids = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            ids.add(row.getUUID("id"));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,73 @@
+package com.veterinary.auth.infrastructure.security;
+
+import com.veterinary.auth.domain.model.Credential;
+import com.veterinary.auth.infrastructure.observability.JwtSignEvent;
+import io.smallrye.jwt.build.Jwt;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Signs JWT access tokens for authenticated credentials.
+ *
+ * <p>
+ * The signing key is configured through SmallRye JWT
+ * ({@code smallrye.jwt.sign.key.location}). Tokens carry the credential ID as
+ * {@code sub} and the email as {@code upn}, and the {@code kid} published by
+ * {@link JwksPublisher} in their header.</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class AccessTokenIssuer {
+
+    private final JwksPublisher jwks;
+    private final String issuer;
+    private final Duration lifetime;
+
+    public AccessTokenIssuer(
+            JwksPublisher jwks,
+            @ConfigProperty(name = "auth.jwt.issuer") String issuer,
+            @ConfigProperty(name = "auth.jwt.lifetime", defaultValue = "PT15M") Duration lifetime) {
+        this.jwks = jwks;
+        this.issuer = issuer;
+        this.lifetime = lifetime;
+    }
+
+    /**
+     * Signs a new access token for the given credential.
+     *
+     * @param credential the authenticated credential
+     * @param now        issuance time
+     * @return the compact, signed JWT
+     */
+    public String issue(Credential credential, Instant now) {
+        JwtSignEvent event = new JwtSignEvent();
+        event.begin();
+
+        String token = Jwt.issuer(issuer)
+                .subject(credential.getId().toString())
+                .upn(credential.getEmail())
+                .issuedAt(now)
+                .expiresAt(now.plus(lifetime))
+                .jws()
+                .keyId(jwks.keyId())
+                .sign();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.setCredentialId(credential.getId());
+            event.commit();
+        }
+        return token;
+    }
+
+    /**
+     * @return how long issued access tokens stay valid
+     */
+    public Duration lifetime() {
+        return lifetime;
+    }
+}
@@ -1,8 +1,15 @@
 package com.veterinary.auth.infrastructure.security;
 
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.UUID;
 
+import com.veterinary.auth.infrastructure.observability.Argon2VerifyEvent;
+import com.veterinary.auth.infrastructure.observability.NeedsRehashEvent;
+import com.veterinary.auth.infrastructure.observability.PhcParseEvent;
+import jakarta.enterprise.context.ApplicationScoped;
 import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
 import org.bouncycastle.crypto.params.Argon2Parameters;
 
@@ -24,6 +31,25 @@ import org.bouncycastle.crypto.params.Argon2Parameters;
  * This format is self-describing and interoperable with other Argon2
  * implementations across different languages and platforms.</p>
  *
+ * <h2>Binary Format</h2>
+ * <p>
+ * The same information also fits in a compact byte array ({@link #hashBinary},
+ * stored as {@code bytea}). It is 58 bytes instead of ~97 characters, and
+ * reading it is a few fixed-offset loads instead of splitting, integer parsing
+ * and two Base64 decodes on every login.</p>
+ * <pre>
+ * ┌────────┬────────┬──────────┬──────────┬────────┬────────┬──────────┬──────────┐
+ * │ format │ v      │ m (KiB)  │ t        │ p      │ salt   │ salt     │ digest   │
+ * │ 0x01   │ 0x13   │ uint32 BE│ uint16 BE│ uint8  │ length │ S bytes  │ the rest │
+ * ├────────┼────────┼──────────┼──────────┼────────┼────────┼──────────┼──────────┤
+ * │ 1 byte │ 1 byte │ 4 bytes  │ 2 bytes  │ 1 byte │ 1 byte │ (16)     │ (32)     │
+ * └────────┴────────┴──────────┴──────────┴────────┴────────┴──────────┴──────────┘
+ * </pre>
+ * <p>
+ * Both formats carry exactly the same fields, so {@link #toBinary(String)} and
+ * {@link #toPhc(byte[])} convert losslessly in either direction, and every
+ * operation has an overload for each.</p>
+ *
  * <h2>Usage Example</h2>
  * <pre>{@code
  * Argon2Hasher hasher = new Argon2Hasher();
@@ -48,10 +74,19 @@ import org.bouncycastle.crypto.params.Argon2Parameters;
  * <p>
  * This class is thread-safe. Multiple threads can share a single instance.</p>
  *
+ * <h2>Flight Recorder</h2>
+ * <p>
+ * Parsing (of either format), verification and the rehash check each emit a JFR event
+ * ({@link PhcParseEvent}, {@link Argon2VerifyEvent}, {@link NeedsRehashEvent})
+ * carrying the m/t/p parameters of the stored hash. The overloads taking a
+ * credential ID let callers tag those events; the plain ones leave the tag
+ * empty.</p>
+ *
  * @author MrBabylonian
  * @see <a href="https://datatracker.ietf.org/doc/html/rfc9106">RFC 9106 -
  * Argon2 Memory-Hard Function</a>
  */
+@ApplicationScoped
 public class Argon2Hasher {
 
     /**
@@ -79,6 +114,15 @@ public class Argon2Hasher {
      * ensure identical passwords produce different hashes.
      */
     private static final int SALT_LENGTH = 16;
+    /**
+     * First byte of every binary hash. Bump it if the layout ever changes.
+     */
+    private static final byte BINARY_FORMAT = 0x01;
+    /**
+     * Bytes before the salt in a binary hash: format, version, m, t, p and
+     * salt length.
+     */
+    private static final int BINARY_HEADER_LENGTH = 10;
 
     private final SecureRandom secureRandom;
 
@@ -114,26 +158,48 @@ public class Argon2Hasher {
             throw new IllegalArgumentException("Password cannot be null or empty");
         }
 
+        return encodeHash(derive(password));
+    }
+
+    /**
+     * Hashes a password like {@link #hash(String)}, but returns the compact
+     * binary format instead of a PHC string.
+     *
+     * <h3>Example</h3>
+     * <pre>{@code
+     * byte[] hash = hasher.hashBinary("mySecurePassword");
+     * // 58 bytes: 01 13 00010000 0003 04 10 <16 salt bytes> <32 digest bytes>
+     * }</pre>
+     *
+     * @param password the plain-text password to hash (never stored directly)
+     * @return the encoded hash in binary format
+     * @throws IllegalArgumentException if password is null or empty
+     */
+    public byte[] hashBinary(String password) {
+        if (password == null || password.isEmpty()) {
+            throw new IllegalArgumentException("Password cannot be null or empty");
+        }
+
+        return encodeBinary(derive(password));
+    }
+
+    /**
+     * Hashes a password with a fresh random salt and the current parameters.
+     */
+    private HashComponents derive(String password) {
         // Generate a random salt
         byte[] salt = new byte[SALT_LENGTH];
         this.secureRandom.nextBytes(salt);
 
-        // Configuration
-        Argon2Parameters params = new Argon2Parameters.Builder(
-                Argon2Parameters.ARGON2_id)
-                .withIterations(ITERATIONS)
-                .withMemoryAsKB(MEMORY)
-                .withParallelism(PARALLELISM)
-                .withSalt(salt)
-                .build();
+        HashComponents components = new HashComponents(
+                Argon2Parameters.ARGON2_VERSION_13, ITERATIONS, MEMORY, PARALLELISM,
+                salt, new byte[HASH_LENGTH]);
 
         Argon2BytesGenerator generator = new Argon2BytesGenerator();
-        generator.init(params);
-
-        byte[] hash = new byte[HASH_LENGTH];
-        generator.generateBytes(password.toCharArray(), hash);
+        generator.init(components.params());
+        generator.generateBytes(password.toCharArray(), components.hash);
 
-        return encodeHash(salt, hash);
+        return components;
     }
 
     /**
@@ -169,6 +235,23 @@ public class Argon2Hasher {
      * malformed
      */
     public boolean verify(String encodedHash, String password) {
+        return verify(encodedHash, password, null, 0);
+    }
+
+    /**
+     * Verifies a password and tags the emitted JFR events with the credential.
+     *
+     * @param encodedHash the stored hash string in PHC format
+     * @param password the plain-text password to verify
+     * @param credentialId the credential being verified, or {@code null}
+     * @param threadWaitNanos how long this work waited for a worker thread
+     * @return {@code true} if the password matches, {@code false} otherwise
+     * @throws IllegalArgumentException if either parameter is null, empty, or
+     * malformed
+     * @see #verify(String, String)
+     */
+    public boolean verify(String encodedHash, String password, UUID credentialId,
+            long threadWaitNanos) {
         if (encodedHash == null || encodedHash.isEmpty()) {
             throw new IllegalArgumentException("Encoded hash cannot be null or empty");
         }
@@ -177,14 +260,60 @@ public class Argon2Hasher {
             throw new IllegalArgumentException("Password cannot be null or empty");
         }
 
-        HashComponents components = parseHash(encodedHash);
+        return verify(parseHash(encodedHash, credentialId), password, credentialId, threadWaitNanos);
+    }
+
+    /**
+     * Verifies a password against a hash in binary format.
+     *
+     * <p>
+     * Identical to {@link #verify(String, String, UUID, long)} except that the
+     * parameters are read straight from the bytes, with no text parsing.</p>
+     *
+     * @param binaryHash the stored hash in binary format
+     * @param password the plain-text password to verify
+     * @param credentialId the credential being verified, or {@code null}
+     * @param threadWaitNanos how long this work waited for a worker thread
+     * @return {@code true} if the password matches, {@code false} otherwise
+     * @throws IllegalArgumentException if either parameter is null, empty, or
+     * malformed
+     */
+    public boolean verify(byte[] binaryHash, String password, UUID credentialId,
+            long threadWaitNanos) {
+        if (binaryHash == null || binaryHash.length == 0) {
+            throw new IllegalArgumentException("Binary hash cannot be null or empty");
+        }
+
+        if (password == null || password.isEmpty()) {
+            throw new IllegalArgumentException("Password cannot be null or empty");
+        }
+
+        return verify(decodeBinary(binaryHash, credentialId), password, credentialId, threadWaitNanos);
+    }
+
+    private boolean verify(HashComponents components, String password, UUID credentialId,
+            long threadWaitNanos) {
+        Argon2VerifyEvent event = new Argon2VerifyEvent();
+        event.begin();
 
         Argon2BytesGenerator generator = new Argon2BytesGenerator();
-        generator.init(components.params);
+        generator.init(components.params());
 
         byte[] actualHash = new byte[components.hash().length];
         generator.generateBytes(password.toCharArray(), actualHash);
-        return constantTimeEquals(components.hash, actualHash);
+        boolean matched = constantTimeEquals(components.hash, actualHash);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.setCredentialId(credentialId);
+            event.memory = components.memory;
+            event.iterations = components.iterations;
+            event.parallelism = components.parallelism;
+            event.threadWait = threadWaitNanos;
+            event.matched = matched;
+            event.commit();
+        }
+        return matched;
     }
 
     /**
@@ -219,32 +348,131 @@ public class Argon2Hasher {
      * @throws IllegalArgumentException if the hash is null, empty, or malformed
      */
     public boolean needsRehash(String encodedHash) {
+        return needsRehash(encodedHash, null);
+    }
+
+    /**
+     * Checks whether a hash should be upgraded and tags the emitted JFR events
+     * with the credential.
+     *
+     * @param encodedHash the stored hash string in PHC format
+     * @param credentialId the credential being checked, or {@code null}
+     * @return {@code true} if the hash uses outdated parameters and should be
+     * upgraded
+     * @throws IllegalArgumentException if the hash is null, empty, or malformed
+     * @see #needsRehash(String)
+     */
+    public boolean needsRehash(String encodedHash, UUID credentialId) {
         if (encodedHash == null || encodedHash.isEmpty()) {
             throw new IllegalArgumentException("Encoded hash cannot be null or empty");
         }
 
-        HashComponents components = parseHash(encodedHash);
-        return components.memory != MEMORY
+        return needsRehash(parseHash(encodedHash, credentialId), credentialId);
+    }
+
+    /**
+     * Checks whether a hash in binary format should be upgraded and tags the
+     * emitted JFR events with the credential.
+     *
+     * <p>
+     * Only the parameters count: a PHC hash with current parameters does not
+     * need a rehash just to become binary, see {@link #toBinary(String)}.</p>
+     *
+     * @param binaryHash the stored hash in binary format
+     * @param credentialId the credential being checked, or {@code null}
+     * @return {@code true} if the hash uses outdated parameters and should be
+     * upgraded
+     * @throws IllegalArgumentException if the hash is null, empty, or malformed
+     */
+    public boolean needsRehash(byte[] binaryHash, UUID credentialId) {
+        if (binaryHash == null || binaryHash.length == 0) {
+            throw new IllegalArgumentException("Binary hash cannot be null or empty");
+        }
+
+        return needsRehash(decodeBinary(binaryHash, credentialId), credentialId);
+    }
+
+    private boolean needsRehash(HashComponents components, UUID credentialId) {
+        NeedsRehashEvent event = new NeedsRehashEvent();
+        event.begin();
+
+        boolean needsRehash = components.version != Argon2Parameters.ARGON2_VERSION_13
+                || components.memory != MEMORY
                 || components.iterations != ITERATIONS
                 || components.parallelism != PARALLELISM;
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.setCredentialId(credentialId);
+            event.memory = components.memory;
+            event.iterations = components.iterations;
+            event.parallelism = components.parallelism;
+            event.needsRehash = needsRehash;
+            event.commit();
+        }
+        return needsRehash;
+    }
+
+    /**
+     * Converts a PHC string to the binary format. No hashing is involved, so
+     * this is cheap enough to run inline after a successful login.
+     *
+     * <pre>{@code
+     * byte[] binary = Argon2Hasher.toBinary(storedHash);
+     * Argon2Hasher.toPhc(binary).equals(storedHash);  // true
+     * }</pre>
+     *
+     * @param encodedHash the hash string in PHC format
+     * @return the same hash in binary format
+     * @throws IllegalArgumentException if the hash is malformed or its
+     * parameters don't fit the binary layout
+     */
+    public static byte[] toBinary(String encodedHash) {
+        return encodeBinary(parseHash(encodedHash, null));
+    }
+
+    /**
+     * Converts a binary hash back to a PHC string, e.g. for export to another
+     * Argon2 implementation.
+     *
+     * @param binaryHash the hash in binary format
+     * @return the same hash as a PHC string (Base64 without padding)
+     * @throws IllegalArgumentException if the bytes are malformed
+     */
+    public static String toPhc(byte[] binaryHash) {
+        return encodeHash(decodeBinary(binaryHash, null));
     }
 
     /**
-     * Holds the parsed components of an encoded Argon2 hash string.
+     * Holds the decoded components of an Argon2 hash, in either format.
      *
+     * @param version Argon2 version ({@code 0x13} for v1.3)
      * @param iterations time cost (number of passes)
      * @param memory memory cost in kilobytes
      * @param parallelism degree of parallelism
-     * @param params pre-built Argon2Parameters ready for the generator
+     * @param salt the raw salt bytes
      * @param hash the raw hash bytes for comparison
      */
     private record HashComponents(
+            int version,
             int iterations,
             int memory,
             int parallelism,
-            Argon2Parameters params,
+            byte[] salt,
             byte[] hash) {
 
+        /**
+         * Builds the generator configuration these components were hashed with.
+         */
+        Argon2Parameters params() {
+            return new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+                    .withVersion(version)
+                    .withIterations(iterations)
+                    .withMemoryAsKB(memory)
+                    .withParallelism(parallelism)
+                    .withSalt(salt)
+                    .build();
+        }
     }
 
     /**
@@ -265,6 +493,7 @@ public class Argon2Hasher {
      *   ["m=65536", "t=3", "p=4"]
      *
      * Step 3: Extract values with substring(2)
+     *   "v=19"    → 19    (version, parts[2])
      *   "m=65536" → 65536 (memory)
      *   "t=3"     → 3     (iterations)
      *   "p=4"     → 4     (parallelism)
@@ -275,12 +504,15 @@ public class Argon2Hasher {
      * }</pre>
      *
      * @param encodedHash the hash string in PHC format
+     * @param credentialId the credential the hash belongs to (JFR tag only)
      * @return a record containing parsed parameters and hash bytes
      * @throws ArrayIndexOutOfBoundsException if format is invalid
      * @throws NumberFormatException if parameters cannot be parsed
      * @throws IllegalArgumentException if Base64 decoding fails
      */
-    private HashComponents parseHash(String encodedHash) {
+    private static HashComponents parseHash(String encodedHash, UUID credentialId) {
+        PhcParseEvent event = new PhcParseEvent();
+        event.begin();
         try {
             String[] parts = encodedHash.split("\\$");
 
@@ -296,6 +528,12 @@ public class Argon2Hasher {
                 );
             }
 
+            if (!parts[2].startsWith("v=")) {
+                throw new IllegalArgumentException(
+                        "Invalid version format: " + parts[2]
+                );
+            }
+
             String[] paramTokens = parts[3].split(",");
 
             if (paramTokens.length != 3) {
@@ -306,20 +544,22 @@ public class Argon2Hasher {
 
             Base64.Decoder decoder = Base64.getDecoder();
 
+            int version = Integer.parseInt(parts[2].substring(2));
             int memory = Integer.parseInt(paramTokens[0].substring(2));
             int iterations = Integer.parseInt(paramTokens[1].substring(2));
             int parallelism = Integer.parseInt(paramTokens[2].substring(2));
             byte[] salt = decoder.decode(parts[4]);
             byte[] hash = decoder.decode(parts[5]);
 
-            Argon2Parameters params = new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
-                    .withIterations(iterations)
-                    .withMemoryAsKB(memory)
-                    .withParallelism(parallelism)
-                    .withSalt(salt)
-                    .build();
-
-            return new HashComponents(iterations, memory, parallelism, params, hash);
+            event.end();
+            if (event.shouldCommit()) {
+                event.setCredentialId(credentialId);
+                event.memory = memory;
+                event.iterations = iterations;
+                event.parallelism = parallelism;
+                event.commit();
+            }
+            return new HashComponents(version, iterations, memory, parallelism, salt, hash);
 
         } catch (IllegalArgumentException e) {
             // Re-throw our own exceptions as-is
@@ -330,6 +570,101 @@ public class Argon2Hasher {
         }
     }
 
+    /**
+     * Decodes a binary hash (see the class documentation for the layout).
+     *
+     * <h3>Decoding Process</h3>
+     * <pre>{@code
+     * Input: 01 13 00 01 00 00 00 03 04 10 <16 bytes> <32 bytes>
+     *        │  │  └────┬────┘ └─┬─┘ │  │
+     *        │  │       │        │   │  └─► salt length = 16
+     *        │  │       │        │   └─► p = 4
+     *        │  │       │        └─► t = 3
+     *        │  │       └─► m = 65536
+     *        │  └─► v = 0x13 (19)
+     *        └─► format 1
+     *
+     * Everything after the salt is the digest.
+     * }</pre>
+     *
+     * @param binaryHash the hash in binary format
+     * @param credentialId the credential the hash belongs to (JFR tag only)
+     * @return a record containing decoded parameters and hash bytes
+     * @throws IllegalArgumentException if the bytes are truncated or of an
+     * unknown format
+     */
+    private static HashComponents decodeBinary(byte[] binaryHash, UUID credentialId) {
+        PhcParseEvent event = new PhcParseEvent();
+        event.begin();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(binaryHash);
+
+            byte format = buffer.get();
+            if (format != BINARY_FORMAT) {
+                throw new IllegalArgumentException(
+                        "Unsupported binary hash format: " + format
+                );
+            }
+
+            int version = Byte.toUnsignedInt(buffer.get());
+            int memory = buffer.getInt();
+            int iterations = Short.toUnsignedInt(buffer.getShort());
+            int parallelism = Byte.toUnsignedInt(buffer.get());
+            byte[] salt = new byte[Byte.toUnsignedInt(buffer.get())];
+            buffer.get(salt);
+
+            if (memory <= 0 || !buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Invalid binary hash: bad memory cost or empty digest");
+            }
+            byte[] hash = new byte[buffer.remaining()];
+            buffer.get(hash);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.setCredentialId(credentialId);
+                event.memory = memory;
+                event.iterations = iterations;
+                event.parallelism = parallelism;
+                event.binary = true;
+                event.commit();
+            }
+            return new HashComponents(version, iterations, memory, parallelism, salt, hash);
+
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException(
+                    "Invalid binary hash: truncated at " + binaryHash.length + " bytes", e);
+        }
+    }
+
+    /**
+     * Encodes hash components into the binary format.
+     *
+     * @param components the hash to encode
+     * @return the binary hash ({@value #BINARY_HEADER_LENGTH} header bytes, then
+     * salt and digest)
+     * @throws IllegalArgumentException if a parameter doesn't fit its field
+     * (t over 65535, p or salt length over 255)
+     */
+    private static byte[] encodeBinary(HashComponents components) {
+        if (components.version > 0xFF || components.iterations > 0xFFFF
+                || components.parallelism > 0xFF || components.salt.length > 0xFF) {
+            throw new IllegalArgumentException("Hash parameters don't fit the binary format: v="
+                    + components.version + ",t=" + components.iterations
+                    + ",p=" + components.parallelism + ",salt=" + components.salt.length);
+        }
+
+        return ByteBuffer.allocate(BINARY_HEADER_LENGTH + components.salt.length + components.hash.length)
+                .put(BINARY_FORMAT)
+                .put((byte) components.version)
+                .putInt(components.memory)
+                .putShort((short) components.iterations)
+                .put((byte) components.parallelism)
+                .put((byte) components.salt.length)
+                .put(components.salt)
+                .put(components.hash)
+                .array();
+    }
+
     /**
      * Encodes raw salt and hash bytes into the standard PHC string format.
      *
@@ -369,19 +704,19 @@ public class Argon2Hasher {
      * The PHC format specifies no padding for compactness. Decoders handle
      * both.</p>
      *
-     * @param salt the random salt bytes (16 bytes)
-     * @param hash the derived hash bytes (32 bytes)
+     * @param components the version, parameters, salt (16 bytes) and derived
+     * hash (32 bytes)
      * @return the fully encoded hash string in PHC format
      */
-    private String encodeHash(byte[] salt, byte[] hash) {
+    private static String encodeHash(HashComponents components) {
         Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
         return String.format("$argon2id$v=%d$m=%d,t=%d,p=%d$%s$%s",
-                Argon2Parameters.ARGON2_VERSION_13,
-                MEMORY,
-                ITERATIONS,
-                PARALLELISM,
-                encoder.encodeToString(salt),
-                encoder.encodeToString(hash));
+                components.version,
+                components.memory,
+                components.iterations,
+                components.parallelism,
+                encoder.encodeToString(components.salt),
+                encoder.encodeToString(components.hash));
     }
 
     /**
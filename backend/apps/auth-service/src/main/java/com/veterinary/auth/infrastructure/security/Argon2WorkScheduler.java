@@ -0,0 +1,336 @@
+package com.veterinary.auth.infrastructure.security;
+
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * Runs Argon2 work on a dedicated, bounded pool with priority lanes and
+ * deadline awareness.
+ *
+ * <p>
+ * Every Argon2 computation holds 64 MB and a core for hundreds of milliseconds.
+ * With a plain FIFO pool, a login under load waits behind registrations and
+ * background rehashes, and keeps computing long after its gRPC client gave up.
+ * This scheduler fixes both.</p>
+ *
+ * <h2>Lanes</h2>
+ * <pre>
+ * ┌──────────────┬──────────────────────────────┬──────────────────────────────┐
+ * │ Lane         │ Work                         │ Under pressure               │
+ * ├──────────────┼──────────────────────────────┼──────────────────────────────┤
+ * │ INTERACTIVE  │ ValidateCredential verify    │ Always dequeued first        │
+ * │ REGISTRATION │ CreateCredential hash        │ After all interactive work   │
+ * │ BACKGROUND   │ Rehash after login           │ Last; evicted first when full│
+ * └──────────────┴──────────────────────────────┴──────────────────────────────┘
+ * </pre>
+ * <p>
+ * Within a lane, work runs in arrival order. When the queue is full, a new task
+ * evicts the newest queued task of a lower-priority lane; if there is none, the
+ * new task itself is shed ({@code RESOURCE_EXHAUSTED}).</p>
+ *
+ * <h2>Deadlines</h2>
+ * <p>
+ * The scheduler keeps a moving average of how long one hash takes. A task whose
+ * gRPC {@link Deadline} has less time left than that is failed with
+ * {@code DEADLINE_EXCEEDED} instead of run: once at submission and again right
+ * before a worker starts hashing it. Work is also dropped if its subscriber
+ * cancels (the gRPC call was cancelled), whether it is still queued or was just
+ * dequeued.</p>
+ *
+ * <h2>Metrics</h2>
+ * <ul>
+ *   <li>{@code auth.argon2.rejected{reason=shed,lane=...}}: queue full</li>
+ *   <li>{@code auth.argon2.rejected{reason=deadline,lane=...}}: deadline too close</li>
+ *   <li>{@code auth.argon2.queue.size}: tasks waiting</li>
+ * </ul>
+ *
+ * <h2>Threading</h2>
+ * <p>
+ * Results are emitted on the Argon2 worker thread. Callers with more than a
+ * trivial continuation should hop off it ({@code emitOn}) so the next hash can
+ * start.</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class Argon2WorkScheduler {
+
+    /**
+     * Priority lanes, highest priority first.
+     */
+    public enum Lane {
+        INTERACTIVE,
+        REGISTRATION,
+        BACKGROUND
+    }
+
+    private static final Logger LOG = Logger.getLogger(Argon2WorkScheduler.class);
+
+    /**
+     * Weight of the newest sample in the expected hash time.
+     */
+    private static final double EWMA_ALPHA = 0.1;
+
+    private final class Task<T> implements Comparable<Task<?>> {
+        private final Lane lane;
+        private final long sequence;
+        private final Deadline deadline;
+        private final LongFunction<T> work;
+        private final UniEmitter<? super T> emitter;
+        private final long enqueuedAt = System.nanoTime();
+
+        /**
+         * Set once the subscriber cancels (or the task has already completed).
+         */
+        private volatile boolean terminated;
+
+        private Task(Lane lane, long sequence, Deadline deadline, LongFunction<T> work,
+                UniEmitter<? super T> emitter) {
+            this.lane = lane;
+            this.sequence = sequence;
+            this.deadline = deadline;
+            this.work = work;
+            this.emitter = emitter;
+        }
+
+        @Override
+        public int compareTo(Task<?> other) {
+            int byLane = lane.compareTo(other.lane);
+            return byLane != 0 ? byLane : Long.compare(sequence, other.sequence);
+        }
+
+        private void run() {
+            // Last check before committing a core and 64 MB: the caller may have
+            // cancelled, or run out of time, since this task was dequeued
+            if (terminated || tooLate(this)) {
+                return;
+            }
+            try {
+                long start = System.nanoTime();
+                T result = work.apply(start - enqueuedAt);
+                recordHashTime(System.nanoTime() - start);
+                emitter.complete(result);
+            } catch (Throwable failure) {
+                emitter.fail(failure);
+            }
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final PriorityQueue<Task<?>> queue = new PriorityQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final int capacity;
+    private final int workerCount;
+    private final List<Thread> workers = new ArrayList<>();
+    private final Map<Lane, Counter> shed = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> deadlineExpired = new EnumMap<>(Lane.class);
+
+    private volatile boolean running = true;
+    private volatile double expectedHashNanos;
+
+    public Argon2WorkScheduler(
+            MeterRegistry registry,
+            @ConfigProperty(name = "auth.argon2.workers") Optional<Integer> workerCount,
+            @ConfigProperty(name = "auth.argon2.queue-capacity", defaultValue = "64") int capacity,
+            @ConfigProperty(name = "auth.argon2.expected-hash-time", defaultValue = "PT0.3S") Duration expectedHashTime) {
+        this.capacity = capacity;
+        this.expectedHashNanos = expectedHashTime.toNanos();
+
+        for (Lane lane : Lane.values()) {
+            String name = lane.name().toLowerCase(Locale.ROOT);
+            shed.put(lane, registry.counter("auth.argon2.rejected", "reason", "shed", "lane", name));
+            deadlineExpired.put(lane, registry.counter("auth.argon2.rejected", "reason", "deadline", "lane", name));
+        }
+        registry.gauge("auth.argon2.queue.size", queue, this::queueSize);
+
+        // Each worker holds 64 MB while hashing, so this also caps Argon2 memory
+        this.workerCount = workerCount.orElse(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Starts the workers once the application is up, not while CDI is still
+     * constructing beans. Work submitted earlier waits in the queue.
+     */
+    void onStart(@Observes StartupEvent event) {
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::workLoop, "argon2-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Queues Argon2 work.
+     *
+     * @param lane     the priority lane
+     * @param deadline the caller's gRPC deadline, or {@code null} for none
+     * @param work     the computation; receives the nanoseconds it waited in
+     *                 the queue
+     * @param <T>      the result type
+     * @return the result, or a failure with {@code RESOURCE_EXHAUSTED} (shed) or
+     * {@code DEADLINE_EXCEEDED}
+     */
+    public <T> Uni<T> submit(Lane lane, Deadline deadline, LongFunction<T> work) {
+        return Uni.createFrom().emitter(emitter -> {
+            Task<T> task = new Task<>(lane, sequence.getAndIncrement(), deadline, work, emitter);
+            if (tooLate(task)) {
+                return;
+            }
+            emitter.onTermination(() -> {
+                task.terminated = true;
+                remove(task);
+            });
+            enqueue(task);
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+
+        List<Task<?>> abandoned;
+        lock.lock();
+        try {
+            abandoned = new ArrayList<>(queue);
+            queue.clear();
+        } finally {
+            lock.unlock();
+        }
+        abandoned.forEach(task -> task.emitter.fail(Status.UNAVAILABLE
+                .withDescription("Shutting down")
+                .asRuntimeException()));
+    }
+
+    private void enqueue(Task<?> task) {
+        Task<?> rejected = null;
+        lock.lock();
+        try {
+            if (queue.size() >= capacity) {
+                Task<?> victim = lowestPriority();
+                if (victim != null && victim.lane.compareTo(task.lane) > 0) {
+                    queue.remove(victim);
+                    rejected = victim;
+                } else {
+                    rejected = task;
+                }
+            }
+            if (rejected != task) {
+                queue.add(task);
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Complete outside the lock: the emitter may run arbitrary continuations
+        if (rejected != null) {
+            shed.get(rejected.lane).increment();
+            rejected.emitter.fail(Status.RESOURCE_EXHAUSTED
+                    .withDescription("Too many password hashing requests, try again later")
+                    .asRuntimeException());
+        }
+    }
+
+    private void workLoop() {
+        while (running) {
+            Task<?> task;
+            lock.lock();
+            try {
+                while (queue.isEmpty()) {
+                    notEmpty.await();
+                }
+                task = queue.poll();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            task.run();
+        }
+    }
+
+    /**
+     * Fails the task if its deadline leaves less time than one hash takes.
+     */
+    private boolean tooLate(Task<?> task) {
+        if (task.deadline == null
+                || task.deadline.timeRemaining(TimeUnit.NANOSECONDS) >= expectedHashNanos) {
+            return false;
+        }
+        deadlineExpired.get(task.lane).increment();
+        task.emitter.fail(Status.DEADLINE_EXCEEDED
+                .withDescription("Deadline too close to start password hashing")
+                .asRuntimeException());
+        return true;
+    }
+
+    private void remove(Task<?> task) {
+        lock.lock();
+        try {
+            queue.remove(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The newest task of the lowest-priority lane. Linear, but the queue is
+     * small and this only runs when it is full.
+     */
+    private Task<?> lowestPriority() {
+        Task<?> lowest = null;
+        for (Task<?> candidate : queue) {
+            if (lowest == null || candidate.compareTo(lowest) > 0) {
+                lowest = candidate;
+            }
+        }
+        return lowest;
+    }
+
+    private double queueSize(PriorityQueue<Task<?>> ignored) {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordHashTime(long elapsedNanos) {
+        // Racy read-modify-write is fine: this is only an estimate
+        expectedHashNanos += EWMA_ALPHA * (elapsedNanos - expectedHashNanos);
+        if (LOG.isTraceEnabled()) {
+            LOG.tracef("Argon2 hash took %.0f ms, expected now %.0f ms",
+                    elapsedNanos / 1e6, expectedHashNanos / 1e6);
+        }
+    }
+}
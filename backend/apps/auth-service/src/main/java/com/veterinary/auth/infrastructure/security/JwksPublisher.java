@@ -0,0 +1,121 @@
+package com.veterinary.auth.infrastructure.security;
+
+import io.smallrye.jwt.util.KeyUtils;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.json.Json;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Publishes the JWT verification key as a JSON Web Key Set (RFC 7517).
+ *
+ * <p>
+ * Services that prefer to verify tokens locally fetch this once and cache it,
+ * instead of shipping the PEM file around. The key ID ({@code kid}) is the
+ * RFC 7638 thumbprint of the key, so it changes automatically when the key is
+ * rotated and {@link AccessTokenIssuer} stamps the same value into every JWT
+ * header.</p>
+ *
+ * <h2>Output</h2>
+ * <pre>{@code
+ * {"keys":[{"kty":"RSA","use":"sig","alg":"RS256","kid":"NzbLsX...","n":"0vx7...","e":"AQAB"}]}
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * <p>
+ * Everything is computed once in the constructor; this class is immutable.</p>
+ *
+ * @author Auth Service Team
+ * @see <a href="https://datatracker.ietf.org/doc/html/rfc7638">RFC 7638 -
+ * JWK Thumbprint</a>
+ */
+@ApplicationScoped
+public class JwksPublisher {
+
+    private final String keyId;
+    private final String jwksJson;
+
+    public JwksPublisher(
+            @ConfigProperty(name = "mp.jwt.verify.publickey.location") String publicKeyLocation) {
+        RSAPublicKey key = readRsaKey(publicKeyLocation);
+        this.keyId = keyId(key);
+        this.jwksJson = toJwks(key, keyId);
+    }
+
+    /**
+     * @return the key ID to put in the {@code kid} header of signed tokens
+     */
+    public String keyId() {
+        return keyId;
+    }
+
+    /**
+     * @return the JWKS document as JSON
+     */
+    public String jwksJson() {
+        return jwksJson;
+    }
+
+    private static RSAPublicKey readRsaKey(String location) {
+        PublicKey key;
+        try {
+            key = KeyUtils.readPublicKey(location);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot read JWT public key from " + location, e);
+        }
+        if (!(key instanceof RSAPublicKey rsaKey)) {
+            throw new IllegalStateException("Unsupported JWT key type: " + key.getAlgorithm()
+                    + " (expected RSA)");
+        }
+        return rsaKey;
+    }
+
+    static String toJwks(RSAPublicKey key, String keyId) {
+        return Json.createObjectBuilder()
+                .add("keys", Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder()
+                                .add("kty", "RSA")
+                                .add("use", "sig")
+                                .add("alg", "RS256")
+                                .add("kid", keyId)
+                                .add("n", base64Url(unsigned(key.getModulus())))
+                                .add("e", base64Url(unsigned(key.getPublicExponent())))))
+                .build()
+                .toString();
+    }
+
+    /**
+     * RFC 7638: SHA-256 over the required members in lexicographic order, with
+     * no whitespace.
+     */
+    static String keyId(RSAPublicKey key) {
+        String canonical = "{\"e\":\"" + base64Url(unsigned(key.getPublicExponent()))
+                + "\",\"kty\":\"RSA\",\"n\":\"" + base64Url(unsigned(key.getModulus())) + "\"}";
+        try {
+            return base64Url(MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * {@link BigInteger#toByteArray()} adds a leading zero byte when the top bit
+     * is set; JWK wants the plain unsigned big-endian value.
+     */
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return bytes[0] == 0 && bytes.length > 1 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,229 @@
+package com.veterinary.auth.infrastructure.security;
+
+import com.veterinary.auth.domain.event.CredentialChangeType;
+import com.veterinary.auth.domain.event.CredentialChanged;
+import com.veterinary.auth.domain.repository.CredentialChangeRepository;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.mutiny.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory "not before" list for access tokens of credentials whose sessions
+ * ended.
+ *
+ * <p>
+ * A JWT is self-contained: once signed, it verifies until its {@code exp} no
+ * matter what happens to the account. Refresh tokens are revoked in the
+ * database, but a suspended user's access token would keep working for up to
+ * {@code auth.jwt.lifetime}. Checking the credential row on every introspection
+ * would undo the point of JWTs, so each node keeps this list instead.</p>
+ *
+ * <h2>Rule</h2>
+ * <p>
+ * For every credential that was suspended, soft-deleted or had its password
+ * changed, we keep the time of that change. A token of that credential is
+ * revoked if it was issued before then:</p>
+ * <pre>{@code
+ * revoked  ⇔  iat < notBefore[sub]      (one hash lookup, no allocation)
+ * }</pre>
+ * <p>
+ * JWT {@code iat} has second precision, so {@code notBefore} is rounded up to
+ * the next whole second. A token issued in the same second as the change is
+ * revoked too; the client simply refreshes.</p>
+ *
+ * <h2>Clocks</h2>
+ * <p>
+ * {@code iat} is stamped by the application {@link Clock} of the node that
+ * signed the token; the change time by the application clock of the node that
+ * made the change (see {@code PgCredentialRepository}). Both are NTP-synced
+ * hosts, but not the same host, so {@code notBefore} is moved forward by
+ * {@code auth.revocation.clock-skew} on top of the rounding:</p>
+ * <pre>{@code
+ * notBefore = ceil(changedAt + clock-skew)
+ * }</pre>
+ * <p>
+ * A signer whose clock runs behind by up to the allowance still can't slip a
+ * pre-change token past the list. The price is that tokens issued just after
+ * the change, within the allowance, are revoked as well. Skew beyond the
+ * allowance is not covered.</p>
+ *
+ * <h2>Bounded Memory</h2>
+ * <p>
+ * An entry is useless once every token it could revoke has expired, i.e. one
+ * token lifetime after {@code notBefore}. Entries are grouped into buckets by
+ * that expiry time, and a timer drops whole buckets as they pass:</p>
+ * <pre>
+ *            bucket-width
+ *           ├────────────┤
+ * ──────────┬────────────┬────────────┬────────────┬──► expiry time
+ *  dropped  │ {a, b}     │ {c}        │ {d, e, f}  │
+ * ──────────┴────────────┴────────────┴────────────┘
+ *           ▲ now
+ * </pre>
+ * <p>
+ * So the list never holds more than the session-ending changes of the last
+ * {@code lifetime + bucket-width}.</p>
+ *
+ * <h2>Filling</h2>
+ * <ul>
+ *   <li>Live: {@link CredentialChanged} events from every node</li>
+ *   <li>Startup: the same changes read back from {@code credential_outbox} for
+ *   the last token lifetime, before the node serves traffic. If that read
+ *   doesn't finish within {@code auth.revocation.rebuild-timeout}, startup
+ *   fails: a node that can't rebuild the list must not answer
+ *   introspections</li>
+ * </ul>
+ * <p>
+ * Both sources may deliver the same change; keeping the latest
+ * {@code notBefore} per credential makes that harmless.</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class JwtRevocationList {
+
+    private static final Logger LOG = Logger.getLogger(JwtRevocationList.class);
+
+    /** The changes read back on rebuild: exactly those that end sessions. */
+    private static final Set<CredentialChangeType> SESSION_ENDING = EnumSet.allOf(CredentialChangeType.class)
+            .stream()
+            .filter(CredentialChangeType::endsSessions)
+            .collect(Collectors.toCollection(() -> EnumSet.noneOf(CredentialChangeType.class)));
+
+    private final Vertx vertx;
+    private final CredentialChangeRepository changes;
+    private final Clock clock;
+    private final long lifetimeSeconds;
+    private final long bucketWidthSeconds;
+    private final Duration clockSkew;
+    private final Duration rebuildTimeout;
+
+    /**
+     * Credential ID to the first second whose tokens are still valid.
+     */
+    private final Map<UUID, Long> notBefore = new ConcurrentHashMap<>();
+
+    /**
+     * Bucket expiry (epoch second) to the credentials whose entries expire by
+     * then.
+     */
+    private final ConcurrentSkipListMap<Long, Set<UUID>> buckets = new ConcurrentSkipListMap<>();
+
+    private long pruneTimerId = -1;
+
+    public JwtRevocationList(
+            Vertx vertx,
+            CredentialChangeRepository changes,
+            Clock clock,
+            @ConfigProperty(name = "auth.jwt.lifetime", defaultValue = "PT15M") Duration lifetime,
+            @ConfigProperty(name = "auth.revocation.bucket-width", defaultValue = "PT1M") Duration bucketWidth,
+            @ConfigProperty(name = "auth.revocation.clock-skew", defaultValue = "PT1S") Duration clockSkew,
+            @ConfigProperty(name = "auth.revocation.rebuild-timeout", defaultValue = "PT5S") Duration rebuildTimeout) {
+        this.vertx = vertx;
+        this.changes = changes;
+        this.clock = clock;
+        this.lifetimeSeconds = lifetime.toSeconds();
+        this.bucketWidthSeconds = Math.max(1, bucketWidth.toSeconds());
+        this.clockSkew = clockSkew;
+        this.rebuildTimeout = rebuildTimeout;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        // Look back as far as the skew allowance can push an entry
+        Instant since = clock.instant().minusSeconds(lifetimeSeconds).minus(clockSkew);
+        List<CredentialChanged> recent = changes
+                .findSince(since, SESSION_ENDING)
+                .ifNoItem().after(rebuildTimeout)
+                .failWith(() -> new IllegalStateException(
+                        "Reading credential_outbox took longer than " + rebuildTimeout))
+                .onFailure().invoke(failure -> LOG.error(
+                        "Could not rebuild JWT revocation list, refusing to start", failure))
+                .await().indefinitely();
+        recent.forEach(change -> revoke(change.credentialId(), change.occurredAt()));
+        LOG.infof("Rebuilt JWT revocation list: %d credentials from %d changes",
+                notBefore.size(), recent.size());
+
+        pruneTimerId = vertx.setPeriodic(bucketWidthSeconds * 1000, id -> prune(clock.instant()));
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (pruneTimerId != -1) {
+            vertx.cancelTimer(pruneTimerId);
+        }
+    }
+
+    void onCredentialChanged(@Observes CredentialChanged change) {
+        if (change.type().endsSessions()) {
+            revoke(change.credentialId(), change.occurredAt());
+        }
+    }
+
+    /**
+     * Revokes every token of a credential issued before the given time.
+     *
+     * @param credentialId the credential whose sessions ended
+     * @param changedAt    when they ended
+     */
+    public void revoke(UUID credentialId, Instant changedAt) {
+        // Skew allowance, then round up: iat has second precision, see class comment
+        Instant allowed = changedAt.plus(clockSkew);
+        long second = allowed.getNano() == 0 ? allowed.getEpochSecond() : allowed.getEpochSecond() + 1;
+        long expiry = second + lifetimeSeconds;
+        if (expiry <= clock.instant().getEpochSecond()) {
+            // Every token it could revoke has expired already (late replay)
+            return;
+        }
+        notBefore.merge(credentialId, second, Math::max);
+
+        long bucket = Math.ceilDiv(expiry, bucketWidthSeconds) * bucketWidthSeconds;
+        buckets.computeIfAbsent(bucket, ignored -> ConcurrentHashMap.newKeySet()).add(credentialId);
+    }
+
+    /**
+     * Checks whether a verified token has been revoked.
+     *
+     * @param credentialId the token's {@code sub}
+     * @param issuedAt     the token's {@code iat}
+     * @return true if the credential's sessions ended after the token was issued
+     */
+    public boolean isRevoked(UUID credentialId, Instant issuedAt) {
+        Long first = notBefore.get(credentialId);
+        return first != null && issuedAt.getEpochSecond() < first;
+    }
+
+    void prune(Instant now) {
+        long second = now.getEpochSecond();
+        Map<Long, Set<UUID>> expired = buckets.headMap(second, true);
+        int dropped = 0;
+        for (Set<UUID> credentialIds : expired.values()) {
+            for (UUID credentialId : credentialIds) {
+                // A later change may have moved the entry to a later bucket
+                if (notBefore.computeIfPresent(credentialId,
+                        (id, first) -> first + lifetimeSeconds <= second ? null : first) == null) {
+                    dropped++;
+                }
+            }
+        }
+        expired.clear();
+
+        if (dropped > 0 && LOG.isDebugEnabled()) {
+            LOG.debugf("Dropped %d expired JWT revocations, %d remain", dropped, notBefore.size());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.veterinary.auth.infrastructure.security;
+
+/**
+ * The format new password hashes are written in ({@code auth.password-hash.format}).
+ *
+ * <p>
+ * Both formats are always read. Switch to {@link #BINARY} only once every node
+ * runs a version that can read it; until then, older nodes would reject logins
+ * for migrated rows.</p>
+ *
+ * @author Auth Service Team
+ * @see Argon2Hasher
+ */
+public enum PasswordHashFormat {
+    /**
+     * PHC strings in {@code password_hash}. The default.
+     */
+    PHC,
+    /**
+     * Compact binary hashes in {@code password_hash_bin}; PHC rows are
+     * converted on the next successful login.
+     */
+    BINARY
+}
@@ -0,0 +1,73 @@
+package com.veterinary.auth.infrastructure.security;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Generates opaque refresh tokens and derives the digest we store for them.
+ *
+ * <h2>Why SHA-256 and Not Argon2?</h2>
+ * <p>
+ * Argon2 exists to slow down guessing of low-entropy human passwords. A refresh
+ * token is 32 bytes from {@link SecureRandom}, so guessing it is already
+ * infeasible; a single SHA-256 pass is enough to keep a database leak from
+ * handing out live tokens, and costs microseconds instead of 64 MB.</p>
+ *
+ * <pre>{@code
+ * String raw = codec.generate();        // sent to the client once
+ * byte[] stored = codec.digest(raw);    // stored in refresh_tokens.token_hash
+ * }</pre>
+ *
+ * <h2>Thread Safety</h2>
+ * <p>
+ * This class is thread-safe. {@link MessageDigest} is not, so a fresh instance
+ * is obtained per call (cheap compared to the surrounding I/O).</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class RefreshTokenCodec {
+
+    /**
+     * Raw token length in bytes (256 bits).
+     */
+    private static final int TOKEN_LENGTH = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * Generates a new random token, URL-safe Base64 encoded without padding.
+     *
+     * @return the raw token to hand to the client
+     */
+    public String generate() {
+        byte[] token = new byte[TOKEN_LENGTH];
+        secureRandom.nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    /**
+     * Computes the SHA-256 digest of a raw token.
+     *
+     * @param rawToken the token as received from the client
+     * @return the 32-byte digest used as the lookup key
+     * @throws IllegalArgumentException if the token is null or empty
+     */
+    public byte[] digest(String rawToken) {
+        if (rawToken == null || rawToken.isEmpty()) {
+            throw new IllegalArgumentException("Refresh token cannot be null or empty");
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256")
+                    .digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to ship SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
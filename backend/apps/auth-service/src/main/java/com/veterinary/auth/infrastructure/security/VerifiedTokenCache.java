@@ -0,0 +1,127 @@
+package com.veterinary.auth.infrastructure.security;
+
+import com.veterinary.auth.domain.event.CredentialChanged;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bounded LRU of JWTs whose signature has already been verified.
+ *
+ * <p>
+ * Gateways introspect the same token on every request the user makes. Parsing
+ * and RSA-verifying it each time is wasted work: the answer can't change until
+ * the token expires. Entries are keyed by the SHA-256 digest of the compact JWT,
+ * so the cache never holds a usable bearer token in memory.</p>
+ *
+ * <h2>Eviction</h2>
+ * <ul>
+ *   <li>Size: least recently used entry is dropped once {@code maxEntries} is reached</li>
+ *   <li>Time: an entry past its {@code exp} is treated as a miss and removed on access</li>
+ *   <li>Change: all entries of a credential are dropped when any node suspends,
+ *   deletes it or changes its password</li>
+ * </ul>
+ *
+ * <h2>Thread Safety</h2>
+ * <p>
+ * Access-ordered {@link LinkedHashMap} mutates on every {@code get}, so all
+ * access is synchronized. The critical sections are a few pointer updates.</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class VerifiedTokenCache {
+
+    /**
+     * The claims we answer introspection with.
+     *
+     * @param credentialId the {@code sub} claim
+     * @param email        the {@code upn} claim
+     * @param issuedAt     the {@code iat} claim
+     * @param expiresAt    the {@code exp} claim
+     */
+    public record VerifiedToken(UUID credentialId, String email, Instant issuedAt, Instant expiresAt) {
+
+    }
+
+    private final Map<ByteBuffer, VerifiedToken> entries;
+
+    public VerifiedTokenCache(
+            @ConfigProperty(name = "auth.introspection.cache-size", defaultValue = "10000") int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, VerifiedToken> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached verification result for a token, if still valid.
+     *
+     * @param token the compact JWT
+     * @param now   the current time
+     * @return the verified claims, or {@code null} on a miss or if expired
+     */
+    public VerifiedToken get(String token, Instant now) {
+        ByteBuffer key = key(token);
+        synchronized (entries) {
+            VerifiedToken cached = entries.get(key);
+            if (cached != null && !now.isBefore(cached.expiresAt())) {
+                entries.remove(key);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * Remembers a token whose signature and claims were just verified.
+     *
+     * @param token    the compact JWT
+     * @param verified its claims
+     */
+    public void put(String token, VerifiedToken verified) {
+        ByteBuffer key = key(token);
+        synchronized (entries) {
+            entries.put(key, verified);
+        }
+    }
+
+    /**
+     * Drops every cached token of a credential whose sessions just ended.
+     *
+     * <p>
+     * This is a linear scan, which is fine: session-ending changes are rare
+     * compared to introspections.</p>
+     *
+     * @param change the credential change, from any node
+     */
+    void onCredentialChanged(@Observes CredentialChanged change) {
+        if (!change.type().endsSessions()) {
+            return;
+        }
+        synchronized (entries) {
+            entries.values().removeIf(verified -> verified.credentialId().equals(change.credentialId()));
+        }
+    }
+
+    private static ByteBuffer key(String token) {
+        try {
+            // ByteBuffer gives content-based equals/hashCode, unlike byte[]
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.veterinary.auth.infrastructure.time;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+
+import java.time.Clock;
+
+/**
+ * Provides the {@link Clock} that domain code takes "now" from.
+ *
+ * <p>
+ * Injecting the clock instead of calling {@code Instant.now()} keeps time reads
+ * explicit (one per {@code Credential.mutate(clock)} batch) and lets tests
+ * substitute a fixed clock with a CDI alternative.</p>
+ *
+ * @author Auth Service Team
+ */
+@ApplicationScoped
+public class ClockProducer {
+
+    @Produces
+    @ApplicationScoped
+    Clock clock() {
+        return Clock.systemUTC();
+    }
+}
@@ -0,0 +1,20 @@
+-- Baseline: one row per login identity. IF NOT EXISTS so databases created before
+-- these migrations existed can run them as they are.
+
+-- Enums are stored lowercase (auth_provider: local, google, ...; status: active,
+-- suspended, deleted); emails are lowercased by the application before they get here.
+CREATE TABLE IF NOT EXISTS credentials (
+    id                uuid        PRIMARY KEY,
+    email             text        NOT NULL UNIQUE,
+    password_hash     text,
+    auth_provider     text        NOT NULL,
+    auth_subject      text,
+    mfa_enabled       boolean     NOT NULL DEFAULT false,
+    status            text        NOT NULL DEFAULT 'active',
+    email_verified_at timestamptz,
+    last_login_at     timestamptz,
+    created_at        timestamptz NOT NULL,
+    updated_at        timestamptz NOT NULL,
+    deleted_at        timestamptz,
+    UNIQUE (auth_provider, auth_subject)
+);
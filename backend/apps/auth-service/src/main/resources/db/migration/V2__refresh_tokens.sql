@@ -0,0 +1,16 @@
+-- Opaque refresh tokens, stored as SHA-256 digests (see RefreshTokenCodec).
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id            uuid        PRIMARY KEY,
+    credential_id uuid        NOT NULL REFERENCES credentials (id),
+    family_id     uuid        NOT NULL,
+    token_hash    bytea       NOT NULL UNIQUE,
+    issued_at     timestamptz NOT NULL,
+    expires_at    timestamptz NOT NULL,
+    revoked_at    timestamptz
+);
+
+-- Only live tokens: bulk revocation stays cheap however many spent tokens pile up.
+CREATE INDEX IF NOT EXISTS refresh_tokens_credential_live
+    ON refresh_tokens (credential_id) WHERE revoked_at IS NULL;
+CREATE INDEX IF NOT EXISTS refresh_tokens_family_live
+    ON refresh_tokens (family_id) WHERE revoked_at IS NULL;
@@ -0,0 +1,12 @@
+-- Credential changes other nodes need to hear about, written in the same transaction
+-- as the change and announced with pg_notify on 'credential_changes'.
+-- occurred_at is set by the application clock, not now(): see PgCredentialRepository.
+CREATE TABLE IF NOT EXISTS credential_outbox (
+    sequence      bigserial   PRIMARY KEY,
+    credential_id uuid        NOT NULL,
+    change_type   text        NOT NULL,
+    occurred_at   timestamptz NOT NULL DEFAULT now()
+);
+
+-- Revocation list rebuild and outbox pruning both read by time.
+CREATE INDEX IF NOT EXISTS credential_outbox_occurred_at ON credential_outbox (occurred_at);
@@ -0,0 +1,3 @@
+-- Compact binary Argon2 hashes (auth.password-hash.format=binary). Rows move over
+-- one login at a time; drop password_hash once no row has it set any more.
+ALTER TABLE credentials ADD COLUMN IF NOT EXISTS password_hash_bin bytea;
@@ -0,0 +1,16 @@
+-- Tables for SoftDeleteArchiver. Keep auth.archival.enabled=false until this has run.
+
+-- Same columns as credentials, without its unique constraints: an archived email
+-- or OAuth subject may be registered again, and archived again later.
+CREATE TABLE IF NOT EXISTS credentials_archive (
+    LIKE credentials INCLUDING DEFAULTS,
+    archived_at timestamptz NOT NULL DEFAULT now(),
+    PRIMARY KEY (id)
+);
+
+-- One row per archival job: the last credential ID moved, so a killed run resumes.
+CREATE TABLE IF NOT EXISTS archival_checkpoint (
+    job        text        PRIMARY KEY,
+    last_id    uuid        NOT NULL,
+    updated_at timestamptz NOT NULL
+);
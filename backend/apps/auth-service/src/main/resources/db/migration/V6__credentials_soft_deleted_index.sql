@@ -0,0 +1,5 @@
+-- Lets the archiver find soft-deleted rows without scanning credentials.
+-- CONCURRENTLY so logins and registrations keep writing while it builds; it can't
+-- run inside a transaction, hence its own migration.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS credentials_soft_deleted
+    ON credentials (id) WHERE deleted_at IS NOT NULL;
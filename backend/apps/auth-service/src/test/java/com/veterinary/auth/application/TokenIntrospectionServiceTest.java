@@ -0,0 +1,157 @@
+package com.veterinary.auth.application;
+
+import com.veterinary.auth.infrastructure.security.JwtRevocationList;
+import com.veterinary.auth.infrastructure.security.VerifiedTokenCache;
+import com.veterinary.auth.infrastructure.security.VerifiedTokenCache.VerifiedToken;
+import io.smallrye.jwt.auth.principal.JWTParser;
+import io.smallrye.jwt.auth.principal.ParseException;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TokenIntrospectionServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-02-01T12:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+    private static final Duration LIFETIME = Duration.ofMinutes(15);
+
+    private final UUID credentialId = UUID.randomUUID();
+
+    /** Compact token → claims. Anything else fails to parse, like a bad signature. */
+    private final Map<String, JsonWebToken> signed = new HashMap<>();
+    private int parses;
+
+    private final JwtRevocationList revocations = new JwtRevocationList(null, null,
+            CLOCK, LIFETIME, Duration.ofMinutes(1), Duration.ZERO,
+            Duration.ofSeconds(5));
+
+    private final TokenIntrospectionService service = new TokenIntrospectionService(
+            parser(), new VerifiedTokenCache(10), revocations, CLOCK);
+
+    private JWTParser parser() {
+        return (JWTParser) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {JWTParser.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("parse") || args.length != 1) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    parses++;
+                    JsonWebToken jwt = signed.get((String) args[0]);
+                    if (jwt == null) {
+                        throw new ParseException("Signature verification failed");
+                    }
+                    return jwt;
+                });
+    }
+
+    private static JsonWebToken jwt(String subject, String email, Instant issuedAt, Instant expiresAt) {
+        return (JsonWebToken) Proxy.newProxyInstance(TokenIntrospectionServiceTest.class.getClassLoader(),
+                new Class<?>[] {JsonWebToken.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getSubject" -> subject;
+                    case "getName" -> email;
+                    case "getIssuedAtTime" -> issuedAt == null ? 0L : issuedAt.getEpochSecond();
+                    case "getExpirationTime" -> expiresAt == null ? 0L : expiresAt.getEpochSecond();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private void sign(String token, Instant issuedAt) {
+        signed.put(token, jwt(credentialId.toString(), "owner@example.com", issuedAt, issuedAt.plus(LIFETIME)));
+    }
+
+    @Test
+    void validTokenIsVerifiedOnceThenServedFromTheCache() {
+        sign("token", NOW);
+
+        VerifiedToken first = service.introspect("token");
+        VerifiedToken second = service.introspect("token");
+
+        assertNotNull(first);
+        assertEquals(credentialId, first.credentialId());
+        assertEquals("owner@example.com", first.email());
+        assertEquals(NOW.plus(LIFETIME), first.expiresAt());
+        assertEquals(first, second);
+        assertEquals(1, parses);
+    }
+
+    @Test
+    void invalidTokenIsInactiveAndNeverCached() {
+        assertNull(service.introspect("forged"));
+        assertNull(service.introspect("forged"));
+
+        assertEquals(2, parses);
+    }
+
+    @Test
+    void missingOrEmptyTokenIsInactiveWithoutParsing() {
+        assertNull(service.introspect(null));
+        assertNull(service.introspect(""));
+
+        assertEquals(0, parses);
+    }
+
+    @Test
+    void revokedTokenIsInactiveEvenOnACacheHit() {
+        sign("token", NOW.minusSeconds(60));
+        assertNotNull(service.introspect("token"));
+
+        revocations.revoke(credentialId, NOW.minusSeconds(30));
+
+        assertNull(service.introspect("token"));
+        assertEquals(1, parses);
+    }
+
+    @Test
+    void tokenSignedAfterTheChangeStaysActive() {
+        revocations.revoke(credentialId, NOW.minusSeconds(30));
+        sign("token", NOW);
+
+        assertNotNull(service.introspect("token"));
+    }
+
+    @Test
+    void tokenExpiredByTheClockIsInactiveAndNotCached() {
+        sign("token", NOW.minus(LIFETIME));
+
+        assertNull(service.introspect("token"));
+        assertNull(service.introspect("token"));
+        assertEquals(2, parses);
+    }
+
+    @Test
+    void signedTokenWithoutOurClaimsIsInactive() {
+        signed.put("no-subject", jwt(null, "owner@example.com", NOW, NOW.plus(LIFETIME)));
+        signed.put("not-a-uuid", jwt("owner", "owner@example.com", NOW, NOW.plus(LIFETIME)));
+        signed.put("no-expiry", jwt(credentialId.toString(), "owner@example.com", NOW, null));
+
+        assertNull(service.introspect("no-subject"));
+        assertNull(service.introspect("not-a-uuid"));
+        assertNull(service.introspect("no-expiry"));
+    }
+
+    @Test
+    void batchKeepsOrderWithInactiveEntries() {
+        sign("good", NOW);
+
+        List<VerifiedToken> results = service.introspectAll(Arrays.asList("good", "forged", "", "good"));
+
+        assertEquals(4, results.size());
+        assertNotNull(results.get(0));
+        assertNull(results.get(1));
+        assertNull(results.get(2));
+        assertEquals(results.get(0), results.get(3));
+    }
+}
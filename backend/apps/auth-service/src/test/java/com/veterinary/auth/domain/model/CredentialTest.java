@@ -0,0 +1,128 @@
+package com.veterinary.auth.domain.model;
+
+import auth.Auth.AuthProvider;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CredentialTest {
+
+    private static final Instant CREATED = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Instant NOW = Instant.parse("2026-02-01T12:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    private static Credential loaded() {
+        return Credential.builder()
+                .id(UUID.randomUUID())
+                .email("user@example.com")
+                .passwordHash("$argon2id$v=19$m=65536,t=3,p=4$c2FsdA$aGFzaA")
+                .authProvider(AuthProvider.LOCAL)
+                .createdAt(CREATED)
+                .updatedAt(CREATED)
+                .build()
+                .validate();
+    }
+
+    @Test
+    void loadedCredentialIsClean() {
+        assertTrue(loaded().getDirtyFields().isEmpty());
+    }
+
+    @Test
+    void mutationMarksTouchedFieldsDirtyAndStampsUpdatedAt() {
+        Credential updated = loaded().withLastLogin(CLOCK);
+
+        assertEquals(EnumSet.of(CredentialField.LAST_LOGIN_AT, CredentialField.UPDATED_AT),
+                updated.getDirtyFields());
+        assertEquals(NOW, updated.getLastLoginAt());
+        assertEquals(NOW, updated.getUpdatedAt());
+    }
+
+    @Test
+    void chainedMutationSharesOneTimestamp() {
+        Credential updated = loaded().mutate(CLOCK)
+                .withVerifiedEmail()
+                .asSoftDeleted()
+                .apply();
+
+        assertEquals(EnumSet.of(CredentialField.EMAIL_VERIFIED_AT, CredentialField.STATUS,
+                CredentialField.DELETED_AT, CredentialField.UPDATED_AT), updated.getDirtyFields());
+        assertEquals(NOW, updated.getEmailVerifiedAt());
+        assertEquals(NOW, updated.getDeletedAt());
+        assertEquals(NOW, updated.getUpdatedAt());
+        assertEquals(CredentialStatus.DELETED, updated.getStatus());
+    }
+
+    @Test
+    void dirtyFieldsAccumulateAcrossCopies() {
+        Credential updated = loaded().asSuspended(CLOCK).withLastLogin(CLOCK);
+
+        assertEquals(EnumSet.of(CredentialField.STATUS, CredentialField.LAST_LOGIN_AT,
+                CredentialField.UPDATED_AT), updated.getDirtyFields());
+    }
+
+    @Test
+    void systemClockOverloadsStillTrackChanges() {
+        Instant loginTime = Instant.parse("2026-01-15T08:00:00Z");
+        Instant before = Instant.now();
+        Credential updated = loaded().asSuspended().withLastLogin(loginTime);
+
+        assertEquals(EnumSet.of(CredentialField.STATUS, CredentialField.LAST_LOGIN_AT,
+                CredentialField.UPDATED_AT), updated.getDirtyFields());
+        assertEquals(loginTime, updated.getLastLoginAt());
+        assertTrue(!updated.getUpdatedAt().isBefore(before));
+    }
+
+    @Test
+    void binaryHashReplacesPhcString() {
+        byte[] binary = {1, 2, 3};
+        Credential updated = loaded().withPasswordHash(binary, CLOCK);
+
+        assertNull(updated.getPasswordHash());
+        assertArrayEquals(binary, updated.getPasswordHashBinary());
+        assertTrue(updated.getDirtyFields().containsAll(
+                Set.of(CredentialField.PASSWORD_HASH, CredentialField.PASSWORD_HASH_BINARY)));
+    }
+
+    @Test
+    void persistedCopyIsClean() {
+        Credential clean = loaded();
+
+        assertTrue(clean.withVerifiedEmail(CLOCK).asPersisted().getDirtyFields().isEmpty());
+        assertSame(clean, clean.asPersisted());
+    }
+
+    @Test
+    void diffFindsChangesMadeWithoutTracking() {
+        Credential previous = loaded();
+        Credential updated = previous.toBuilder()
+                .mfaEnabled(true)
+                .updatedAt(NOW)
+                .build();
+
+        assertTrue(updated.getDirtyFields().isEmpty());
+        assertEquals(EnumSet.of(CredentialField.MFA_ENABLED, CredentialField.UPDATED_AT),
+                updated.fieldsChangedFrom(previous));
+    }
+
+    @Test
+    void diffComparesBinaryHashesByContent() {
+        Credential previous = loaded().withPasswordHash(new byte[] {1, 2, 3}, CLOCK);
+        Credential sameContent = previous.toBuilder().passwordHashBinary(new byte[] {1, 2, 3}).build();
+        Credential otherContent = previous.toBuilder().passwordHashBinary(new byte[] {1, 2, 4}).build();
+
+        assertTrue(sameContent.fieldsChangedFrom(previous).isEmpty());
+        assertEquals(EnumSet.of(CredentialField.PASSWORD_HASH_BINARY), otherContent.fieldsChangedFrom(previous));
+    }
+}
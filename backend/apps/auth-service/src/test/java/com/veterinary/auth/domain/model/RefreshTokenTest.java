@@ -0,0 +1,73 @@
+package com.veterinary.auth.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RefreshTokenTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private static RefreshToken token(Instant revokedAt) {
+        return RefreshToken.builder()
+                .id(UUID.randomUUID())
+                .credentialId(UUID.randomUUID())
+                .familyId(UUID.randomUUID())
+                .tokenHash(new byte[32])
+                .issuedAt(NOW)
+                .expiresAt(NOW.plus(Duration.ofDays(30)))
+                .revokedAt(revokedAt)
+                .build()
+                .validate();
+    }
+
+    @Test
+    void usableUntilExpiry() {
+        RefreshToken token = token(null);
+
+        assertTrue(token.isUsable(NOW));
+        assertTrue(token.isUsable(NOW.plus(Duration.ofDays(30)).minusMillis(1)));
+        assertFalse(token.isUsable(NOW.plus(Duration.ofDays(30))));
+    }
+
+    @Test
+    void revokedTokenIsNotUsable() {
+        assertFalse(token(NOW).isUsable(NOW.plusSeconds(1)));
+    }
+
+    @Test
+    void rotationStaysInFamily() {
+        RefreshToken first = token(null);
+        Instant later = NOW.plusSeconds(60);
+
+        RefreshToken second = first.rotate(UUID.randomUUID(), new byte[32], later, later.plus(Duration.ofDays(30)));
+
+        assertEquals(first.getFamilyId(), second.getFamilyId());
+        assertEquals(first.getCredentialId(), second.getCredentialId());
+        assertNotEquals(first.getId(), second.getId());
+        assertEquals(later, second.getIssuedAt());
+        assertNull(second.getRevokedAt());
+    }
+
+    @Test
+    void expiryMustFollowIssuance() {
+        RefreshToken.RefreshTokenBuilder builder = RefreshToken.builder()
+                .id(UUID.randomUUID())
+                .credentialId(UUID.randomUUID())
+                .familyId(UUID.randomUUID())
+                .tokenHash(new byte[32])
+                .issuedAt(NOW)
+                .expiresAt(NOW);
+
+        assertThrows(IllegalArgumentException.class, () -> builder.build().validate());
+    }
+}
@@ -0,0 +1,38 @@
+package com.veterinary.auth.infrastructure.grpc;
+
+import auth.Auth.AuthProvider;
+import auth.Auth.CreateCredentialRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class AuthGrpcServiceTest {
+
+    private static CreateCredentialRequest request(String password) {
+        return CreateCredentialRequest.newBuilder()
+                .setEmail("owner@example.com")
+                .setPassword(password)
+                .setProvider(AuthProvider.LOCAL)
+                .setIdempotencyKey("saga-42")
+                .build();
+    }
+
+    @Test
+    void retryWithTheSameRequestHasTheSameFingerprint() {
+        assertEquals(AuthGrpcService.fingerprint(request("correct horse")),
+                AuthGrpcService.fingerprint(request("correct horse")));
+    }
+
+    @Test
+    void differentPasswordIsADifferentRequest() {
+        assertNotEquals(AuthGrpcService.fingerprint(request("correct horse")),
+                AuthGrpcService.fingerprint(request("battery staple")));
+    }
+
+    @Test
+    void passwordIsNotKeptInTheClear() {
+        assertFalse(AuthGrpcService.fingerprint(request("correct horse")).contains("correct horse"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.veterinary.auth.infrastructure.grpc;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IdempotencyCacheTest {
+
+    private static final String SCOPE = "CreateCredential";
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    private final Supplier<Uni<Integer>> countingWork = () -> Uni.createFrom().item(runs::incrementAndGet);
+
+    private static IdempotencyCache cache() {
+        return new IdempotencyCache(100, Duration.ofMinutes(10));
+    }
+
+    private static <T> UniAssertSubscriber<T> subscribe(Uni<T> uni) {
+        return uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+    }
+
+    @Test
+    void sameKeyRunsOnce() {
+        IdempotencyCache cache = cache();
+
+        int first = cache.deduplicate(SCOPE, "key-1", "a@example.com", countingWork).await().indefinitely();
+        int retry = cache.deduplicate(SCOPE, "key-1", "a@example.com", countingWork).await().indefinitely();
+
+        assertEquals(1, first);
+        assertEquals(1, retry);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void retryWhileInFlightSharesTheRun() {
+        IdempotencyCache cache = cache();
+        AtomicReference<UniEmitter<? super Integer>> pending = new AtomicReference<>();
+        Supplier<Uni<Integer>> work = () -> Uni.createFrom().emitter(emitter -> {
+            runs.incrementAndGet();
+            pending.set(emitter);
+        });
+
+        UniAssertSubscriber<Integer> first = subscribe(cache.deduplicate(SCOPE, "key-1", "a@example.com", work));
+        UniAssertSubscriber<Integer> retry = subscribe(cache.deduplicate(SCOPE, "key-1", "a@example.com", work));
+        first.assertNotTerminated();
+        retry.assertNotTerminated();
+
+        pending.get().complete(42);
+
+        first.assertItem(42);
+        retry.assertItem(42);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRejected() {
+        IdempotencyCache cache = cache();
+        cache.deduplicate(SCOPE, "key-1", "a@example.com", countingWork).await().indefinitely();
+
+        UniAssertSubscriber<Integer> reuse = subscribe(
+                cache.deduplicate(SCOPE, "key-1", "b@example.com", countingWork));
+
+        reuse.assertFailedWith(StatusRuntimeException.class);
+        assertEquals(Status.Code.INVALID_ARGUMENT, Status.fromThrowable(reuse.getFailure()).getCode());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void failedRunIsForgotten() {
+        IdempotencyCache cache = cache();
+        Supplier<Uni<Integer>> failOnce = () -> runs.incrementAndGet() == 1
+                ? Uni.createFrom().failure(Status.RESOURCE_EXHAUSTED.asRuntimeException())
+                : Uni.createFrom().item(runs.get());
+
+        subscribe(cache.deduplicate(SCOPE, "key-1", "a@example.com", failOnce))
+                .assertFailedWith(StatusRuntimeException.class);
+        int retry = cache.deduplicate(SCOPE, "key-1", "a@example.com", failOnce).await().indefinitely();
+
+        assertEquals(2, retry);
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void missingKeyDisablesDeduplication() {
+        IdempotencyCache cache = cache();
+
+        cache.deduplicate(SCOPE, "", "a@example.com", countingWork).await().indefinitely();
+        cache.deduplicate(SCOPE, "", "a@example.com", countingWork).await().indefinitely();
+        cache.deduplicate(SCOPE, null, "a@example.com", countingWork).await().indefinitely();
+
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    void keysAreScopedPerRpc() {
+        IdempotencyCache cache = cache();
+
+        cache.deduplicate(SCOPE, "key-1", "a@example.com", countingWork).await().indefinitely();
+        cache.deduplicate("OtherRpc", "key-1", "a@example.com", countingWork).await().indefinitely();
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void expiredEntryRunsAgain() {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ZERO);
+
+        cache.deduplicate(SCOPE, "key-1", "a@example.com", countingWork).await().indefinitely();
+        cache.deduplicate(SCOPE, "key-1", "a@example.com", countingWork).await().indefinitely();
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void oldestEntryIsEvictedPastCapacity() {
+        IdempotencyCache cache = new IdempotencyCache(1, Duration.ofMinutes(10));
+
+        cache.deduplicate(SCOPE, "key-1", "a@example.com", countingWork).await().indefinitely();
+        cache.deduplicate(SCOPE, "key-2", "b@example.com", countingWork).await().indefinitely();
+        cache.deduplicate(SCOPE, "key-1", "a@example.com", countingWork).await().indefinitely();
+
+        assertEquals(3, runs.get());
+    }
+}
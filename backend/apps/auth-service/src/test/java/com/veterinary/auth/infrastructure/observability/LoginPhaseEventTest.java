@@ -0,0 +1,105 @@
+package com.veterinary.auth.infrastructure.observability;
+
+import com.veterinary.auth.infrastructure.security.Argon2Hasher;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginPhaseEventTest {
+
+    // m=19456 KiB, t=2, p=1: cheap to verify, and not the hasher's own parameters
+    private static final String HASH =
+            "$argon2id$v=19$m=19456,t=2,p=1$AAECAwQFBgcICQoLDA0ODw$ZGVmZ2hpamtsbW5vcHFyc3R1dnd4eXp7fH1+f4CBgoM";
+
+    private static final UUID CREDENTIAL_ID = UUID.fromString("0192f0c1-7a2b-7c3d-8e4f-5a6b7c8d9e0f");
+
+    private final Argon2Hasher hasher = new Argon2Hasher();
+
+    private static List<RecordedEvent> record(Runnable work) throws IOException {
+        Path file = Files.createTempFile("login-phases", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("com.veterinary.auth.Argon2Verify",
+                    "com.veterinary.auth.PhcParse", "com.veterinary.auth.NeedsRehash")) {
+                recording.enable(name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+
+    private static void assertParameters(RecordedEvent event) {
+        assertEquals(19456, event.getInt("memory"));
+        assertEquals(2, event.getInt("iterations"));
+        assertEquals(1, event.getInt("parallelism"));
+    }
+
+    @Test
+    void verifyRecordsParametersAndThreadWait() throws IOException {
+        List<RecordedEvent> events = record(() ->
+                hasher.verify(HASH, "wrong password", CREDENTIAL_ID, 1_234_567));
+
+        RecordedEvent verify = only(events, "com.veterinary.auth.Argon2Verify");
+        assertParameters(verify);
+        assertEquals(Duration.ofNanos(1_234_567), verify.getDuration("threadWait"));
+        assertFalse(verify.getBoolean("matched"));
+        assertEquals(12, verify.getString("credentialIdHash").length());
+        assertFalse(CREDENTIAL_ID.toString().contains(verify.getString("credentialIdHash")));
+
+        assertParameters(only(events, "com.veterinary.auth.PhcParse"));
+    }
+
+    @Test
+    void needsRehashRecordsStoredParameters() throws IOException {
+        List<RecordedEvent> events = record(() -> hasher.needsRehash(HASH, CREDENTIAL_ID));
+
+        RecordedEvent check = only(events, "com.veterinary.auth.NeedsRehash");
+        assertParameters(check);
+        assertTrue(check.getBoolean("needsRehash"));
+    }
+
+    @Test
+    void untaggedCallsLeaveCredentialEmpty() throws IOException {
+        List<RecordedEvent> events = record(() -> hasher.verify(HASH, "wrong password"));
+
+        RecordedEvent verify = only(events, "com.veterinary.auth.Argon2Verify");
+        assertNull(verify.getString("credentialIdHash"));
+        assertEquals(Duration.ZERO, verify.getDuration("threadWait"));
+    }
+
+    @Test
+    void credentialHashIsStable() {
+        Argon2VerifyEvent first = new Argon2VerifyEvent();
+        Argon2VerifyEvent second = new Argon2VerifyEvent();
+        first.setCredentialId(CREDENTIAL_ID);
+        second.setCredentialId(CREDENTIAL_ID);
+
+        assertEquals(first.credentialIdHash, second.credentialIdHash);
+        assertTrue(first.credentialIdHash.matches("[0-9a-f]{12}"));
+    }
+}
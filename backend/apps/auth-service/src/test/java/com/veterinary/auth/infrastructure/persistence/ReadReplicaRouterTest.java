@@ -0,0 +1,193 @@
+package com.veterinary.auth.infrastructure.persistence;
+
+import com.veterinary.auth.domain.event.CredentialChangeType;
+import com.veterinary.auth.domain.event.CredentialChanged;
+import com.veterinary.auth.domain.model.Credential;
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import jakarta.enterprise.inject.Instance;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ReadReplicaRouterTest {
+
+    private static final String REPLICA = "replica-1";
+
+    private final Pool primary = pool("primary");
+    private final Pool replica = pool(REPLICA);
+
+    /** What each pool answers, and which pools were asked, in order. */
+    private final Map<Pool, Uni<Credential>> answers = new HashMap<>();
+    private final List<Pool> asked = new ArrayList<>();
+
+    private final UUID credentialId = UUID.randomUUID();
+    private final Credential onPrimary = credential("primary@example.com");
+    private final Credential onReplica = credential("replica@example.com");
+
+    /** A pool that is never queried: the lookups below decide by identity what it returns. */
+    private static Pool pool(String name) {
+        return new Pool((io.vertx.sqlclient.Pool) Proxy.newProxyInstance(ReadReplicaRouterTest.class.getClassLoader(),
+                new Class<?>[] {io.vertx.sqlclient.Pool.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> name;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }));
+    }
+
+    private ReadReplicaRouter router(Duration pinWindow) {
+        return new ReadReplicaRouter(null, primary, pools(), Optional.of(List.of(REPLICA)),
+                Duration.ofSeconds(1), pinWindow, Duration.ofSeconds(2));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Instance<Pool> pools() {
+        // select(Pool.class, @ReactiveDataSource(name)).get()
+        return (Instance<Pool>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {Instance.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "select" -> {
+                        String name = ((ReactiveDataSource) ((Object[]) args[1])[0]).value();
+                        if (!name.equals(REPLICA)) {
+                            throw new IllegalArgumentException(name);
+                        }
+                        yield proxy;
+                    }
+                    case "get" -> replica;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private Credential credential(String email) {
+        return Credential.builder().id(credentialId).email(email).passwordHash("hash").build();
+    }
+
+    private Credential read(ReadReplicaRouter router) {
+        return router.readCredential(pool -> {
+            asked.add(pool);
+            return answers.get(pool);
+        }).await().indefinitely();
+    }
+
+    private void answer(Credential fromPrimary, Uni<Credential> fromReplica) {
+        answers.put(primary, Uni.createFrom().item(fromPrimary));
+        answers.put(replica, fromReplica);
+    }
+
+    @Test
+    void replicaIsOutOfRotationUntilProbed() {
+        ReadReplicaRouter router = router(Duration.ofSeconds(5));
+        answer(onPrimary, Uni.createFrom().item(onReplica));
+
+        assertSame(onPrimary, read(router));
+        assertEquals(List.of(primary), asked);
+    }
+
+    @Test
+    void healthyReplicaServesTheRead() {
+        ReadReplicaRouter router = router(Duration.ofSeconds(5));
+        router.recordLag(REPLICA, 0.2);
+        answer(onPrimary, Uni.createFrom().item(onReplica));
+
+        assertSame(onReplica, read(router));
+        assertEquals(List.of(replica), asked);
+    }
+
+    @Test
+    void lagOverTheLimitFallsBackToPrimary() {
+        ReadReplicaRouter router = router(Duration.ofSeconds(5));
+        router.recordLag(REPLICA, 0.2);
+        router.recordLag(REPLICA, 1.5);
+        answer(onPrimary, Uni.createFrom().item(onReplica));
+
+        assertSame(onPrimary, read(router));
+        assertEquals(List.of(primary), asked);
+    }
+
+    @Test
+    void replicaWithoutStreamingReceiverFallsBackToPrimary() {
+        ReadReplicaRouter router = router(Duration.ofSeconds(5));
+        router.recordLag(REPLICA, null);
+        answer(onPrimary, Uni.createFrom().item(onReplica));
+
+        assertSame(onPrimary, read(router));
+    }
+
+    @Test
+    void credentialPinnedAfterAWriteIsReReadOnPrimary() {
+        ReadReplicaRouter router = router(Duration.ofSeconds(5));
+        router.recordLag(REPLICA, 0.0);
+        answer(onPrimary, Uni.createFrom().item(onReplica));
+
+        router.pin(credentialId);
+
+        assertSame(onPrimary, read(router));
+        assertEquals(List.of(replica, primary), asked);
+    }
+
+    @Test
+    void changeFromAnotherNodePinsToo() {
+        ReadReplicaRouter router = router(Duration.ofSeconds(5));
+        router.recordLag(REPLICA, 0.0);
+        answer(onPrimary, Uni.createFrom().item(onReplica));
+
+        router.onCredentialChanged(new CredentialChanged(1, credentialId,
+                CredentialChangeType.PASSWORD_CHANGED, Instant.now()));
+
+        assertSame(onPrimary, read(router));
+    }
+
+    @Test
+    void expiredPinReadsTheReplicaAgain() {
+        ReadReplicaRouter router = router(Duration.ZERO);
+        router.recordLag(REPLICA, 0.0);
+        answer(onPrimary, Uni.createFrom().item(onReplica));
+
+        router.pin(credentialId);
+
+        assertSame(onReplica, read(router));
+    }
+
+    @Test
+    void replicaMissIsRetriedOnPrimary() {
+        ReadReplicaRouter router = router(Duration.ofSeconds(5));
+        router.recordLag(REPLICA, 0.0);
+        answer(onPrimary, Uni.createFrom().nullItem());
+
+        assertSame(onPrimary, read(router));
+        assertEquals(List.of(replica, primary), asked);
+    }
+
+    @Test
+    void replicaErrorFallsBackToPrimaryAndTakesItOutOfRotation() {
+        ReadReplicaRouter router = router(Duration.ofSeconds(5));
+        router.recordLag(REPLICA, 0.0);
+        answer(onPrimary, Uni.createFrom().failure(new IllegalStateException("connection reset")));
+
+        assertSame(onPrimary, read(router));
+        assertSame(onPrimary, read(router));
+        assertEquals(List.of(replica, primary, primary), asked);
+    }
+
+    @Test
+    void missOnBothIsNull() {
+        ReadReplicaRouter router = router(Duration.ofSeconds(5));
+        router.recordLag(REPLICA, 0.0);
+        answer(null, Uni.createFrom().nullItem());
+
+        assertNull(read(router));
+    }
+}
@@ -0,0 +1,165 @@
+package com.veterinary.auth.infrastructure.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SoftDeleteArchiverTest {
+
+    private static final Instant CUTOFF = Instant.parse("2026-01-01T00:00:00Z");
+    private static final UUID START = new UUID(0, 0);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * Runs the chunk loop against in-memory rows instead of Postgres.
+     */
+    private static final class Archiver extends SoftDeleteArchiver {
+
+        final TreeSet<UUID> deleted = new TreeSet<>();
+        final List<UUID> archived = new ArrayList<>();
+        final Deque<Long> activeQueries = new ArrayDeque<>();
+        final List<Integer> chunkSizes = new ArrayList<>();
+        final int batchSize;
+        UUID checkpoint = START;
+        int activeQueryChecks;
+
+        Archiver(int batchSize, double dutyCycle, Duration maxRunTime) {
+            super(null, null, Clock.systemUTC(), new SimpleMeterRegistry(),
+                    "postgresql://localhost:5432/auth", "auth", "auth",
+                    true, Duration.ofHours(1), Duration.ofDays(30), batchSize, dutyCycle,
+                    16, Duration.ofMillis(1), maxRunTime);
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        Uni<UUID> loadCheckpoint() {
+            return Uni.createFrom().item(checkpoint);
+        }
+
+        @Override
+        Uni<List<UUID>> nextBatch(UUID after, Instant cutoff) {
+            List<UUID> ids = new ArrayList<>();
+            for (UUID id : deleted.tailSet(after, false)) {
+                if (ids.size() == batchSize) {
+                    break;
+                }
+                ids.add(id);
+            }
+            return Uni.createFrom().item(ids);
+        }
+
+        @Override
+        Uni<Long> moveBatch(List<UUID> ids, Instant cutoff) {
+            chunkSizes.add(ids.size());
+            deleted.removeAll(ids);
+            archived.addAll(ids);
+            checkpoint = ids.get(ids.size() - 1);
+            return Uni.createFrom().item((long) ids.size());
+        }
+
+        @Override
+        Uni<Long> activeQueries() {
+            activeQueryChecks++;
+            return Uni.createFrom().item(activeQueries.isEmpty() ? 0L : activeQueries.poll());
+        }
+
+        @Override
+        Uni<Void> saveCheckpoint(UUID lastId) {
+            checkpoint = lastId;
+            return Uni.createFrom().voidItem();
+        }
+    }
+
+    private static UUID id(long n) {
+        return new UUID(0x0190_0000_0000_7000L, n);
+    }
+
+    @Test
+    void movesEveryRowInChunksAndResetsTheCheckpoint() {
+        Archiver archiver = new Archiver(2, 1.0, Duration.ofMinutes(1));
+        for (long n = 1; n <= 5; n++) {
+            archiver.deleted.add(id(n));
+        }
+
+        long moved = archiver.archive(CUTOFF, System.nanoTime()).await().atMost(TIMEOUT);
+
+        assertEquals(5, moved);
+        assertEquals(List.of(2, 2, 1), archiver.chunkSizes);
+        assertTrue(archiver.deleted.isEmpty());
+        assertEquals(START, archiver.checkpoint);
+    }
+
+    @Test
+    void resumesAfterTheCheckpoint() {
+        Archiver archiver = new Archiver(2, 1.0, Duration.ofMinutes(1));
+        for (long n = 1; n <= 4; n++) {
+            archiver.deleted.add(id(n));
+        }
+        archiver.checkpoint = id(2);
+
+        long moved = archiver.archive(CUTOFF, System.nanoTime()).await().atMost(TIMEOUT);
+
+        assertEquals(2, moved);
+        assertEquals(List.of(id(3), id(4)), archiver.archived);
+    }
+
+    @Test
+    void runOutOfTimeKeepsTheCheckpoint() {
+        Archiver archiver = new Archiver(2, 1.0, Duration.ZERO);
+        archiver.deleted.add(id(1));
+        archiver.checkpoint = id(0);
+
+        long moved = archiver.archive(CUTOFF, System.nanoTime()).await().atMost(TIMEOUT);
+
+        assertEquals(0, moved);
+        assertEquals(id(0), archiver.checkpoint);
+    }
+
+    @Test
+    void backsOffWhileTheDatabaseIsBusy() {
+        Archiver archiver = new Archiver(2, 1.0, Duration.ofMinutes(1));
+        archiver.deleted.add(id(1));
+        archiver.activeQueries.add(40L);
+        archiver.activeQueries.add(17L);
+
+        long moved = archiver.archive(CUTOFF, System.nanoTime()).await().atMost(TIMEOUT);
+
+        assertEquals(1, moved);
+        assertEquals(3, archiver.activeQueryChecks);
+    }
+
+    @Test
+    void pausesInProportionToTheDutyCycle() {
+        long batchNanos = Duration.ofMillis(100).toNanos();
+
+        assertEquals(Duration.ofMillis(300), SoftDeleteArchiver.pauseAfter(batchNanos, 0.25));
+        assertEquals(Duration.ofMillis(100), SoftDeleteArchiver.pauseAfter(batchNanos, 0.5));
+        assertTrue(SoftDeleteArchiver.pauseAfter(batchNanos, 1.0).isZero());
+    }
+
+    @Test
+    void partialDutyCycleStillCompletes() {
+        Archiver archiver = new Archiver(2, 0.5, Duration.ofMinutes(1));
+        for (long n = 1; n <= 3; n++) {
+            archiver.deleted.add(id(n));
+        }
+
+        long moved = archiver.archive(CUTOFF, System.nanoTime()).await().atMost(TIMEOUT);
+
+        assertEquals(3, moved);
+        assertEquals(START, archiver.checkpoint);
+    }
+}
@@ -0,0 +1,88 @@
+package com.veterinary.auth.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Argon2HasherTest {
+
+    /**
+     * m=19456, t=2, p=1, salt = bytes 0..15, digest = bytes 100..131.
+     */
+    private static final String FOREIGN_PHC = "$argon2id$v=19$m=19456,t=2,p=1"
+            + "$AAECAwQFBgcICQoLDA0ODw"
+            + "$ZGVmZ2hpamtsbW5vcHFyc3R1dnd4eXp7fH1+f4CBgoM";
+
+    private final Argon2Hasher hasher = new Argon2Hasher();
+
+    @Test
+    void phcRoundTripsThroughBinaryExactly() {
+        String phc = hasher.hash("correct horse battery staple");
+
+        byte[] binary = Argon2Hasher.toBinary(phc);
+
+        // 10 header bytes, 16 salt bytes, 32 digest bytes
+        assertEquals(58, binary.length);
+        assertEquals(phc, Argon2Hasher.toPhc(binary));
+    }
+
+    @Test
+    void foreignParametersSurviveTheRoundTrip() {
+        byte[] binary = Argon2Hasher.toBinary(FOREIGN_PHC);
+        ByteBuffer header = ByteBuffer.wrap(binary);
+
+        assertEquals(0x01, header.get());
+        assertEquals(0x13, header.get());
+        assertEquals(19456, header.getInt());
+        assertEquals(2, header.getShort());
+        assertEquals(1, header.get());
+        assertEquals(16, header.get());
+        assertArrayEquals(bytes(0, 16), Arrays.copyOfRange(binary, 10, 26));
+        assertArrayEquals(bytes(100, 32), Arrays.copyOfRange(binary, 26, binary.length));
+
+        assertEquals(FOREIGN_PHC, Argon2Hasher.toPhc(binary));
+    }
+
+    @Test
+    void binaryHashVerifies() {
+        byte[] binary = hasher.hashBinary("correct horse battery staple");
+
+        assertEquals(58, binary.length);
+        assertTrue(hasher.verify(binary, "correct horse battery staple", null, 0));
+        assertFalse(hasher.verify(binary, "Tr0ub4dor&3", null, 0));
+    }
+
+    @Test
+    void convertedHashVerifiesInBothFormats() {
+        String phc = hasher.hash("correct horse battery staple");
+        byte[] binary = Argon2Hasher.toBinary(phc);
+
+        assertTrue(hasher.verify(binary, "correct horse battery staple", null, 0));
+        assertTrue(hasher.verify(Argon2Hasher.toPhc(binary), "correct horse battery staple"));
+    }
+
+    @Test
+    void malformedBinaryIsRejected() {
+        byte[] truncated = Arrays.copyOf(Argon2Hasher.toBinary(FOREIGN_PHC), 8);
+        byte[] unknownFormat = Argon2Hasher.toBinary(FOREIGN_PHC);
+        unknownFormat[0] = 0x02;
+
+        assertThrows(IllegalArgumentException.class, () -> Argon2Hasher.toPhc(truncated));
+        assertThrows(IllegalArgumentException.class, () -> Argon2Hasher.toPhc(unknownFormat));
+    }
+
+    private static byte[] bytes(int first, int count) {
+        byte[] bytes = new byte[count];
+        for (int i = 0; i < count; i++) {
+            bytes[i] = (byte) (first + i);
+        }
+        return bytes;
+    }
+}
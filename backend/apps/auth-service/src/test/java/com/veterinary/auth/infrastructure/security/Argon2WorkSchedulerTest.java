@@ -0,0 +1,179 @@
+package com.veterinary.auth.infrastructure.security;
+
+import com.veterinary.auth.infrastructure.security.Argon2WorkScheduler.Lane;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Argon2WorkSchedulerTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private Argon2WorkScheduler scheduler;
+
+    @AfterEach
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    /**
+     * No workers, so everything submitted stays queued.
+     */
+    private Argon2WorkScheduler idleScheduler(int capacity) {
+        scheduler = new Argon2WorkScheduler(registry, Optional.of(0), capacity, Duration.ofMillis(300));
+        return scheduler;
+    }
+
+    /**
+     * One worker, started, so tasks run one at a time in queue order.
+     */
+    private Argon2WorkScheduler startedScheduler(Duration expectedHashTime) {
+        scheduler = new Argon2WorkScheduler(registry, Optional.of(1), 8, expectedHashTime);
+        scheduler.onStart(null);
+        return scheduler;
+    }
+
+    /**
+     * Occupies the single worker until {@code release} opens.
+     */
+    private void blockWorker(CountDownLatch release) {
+        scheduler.submit(Lane.INTERACTIVE, null, waited -> {
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }).subscribe().withSubscriber(UniAssertSubscriber.create());
+    }
+
+    private UniAssertSubscriber<String> submit(Lane lane, Deadline deadline) {
+        return scheduler.submit(lane, deadline, waited -> lane.name())
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+    }
+
+    private double rejected(String reason, String lane) {
+        return registry.get("auth.argon2.rejected").tags("reason", reason, "lane", lane).counter().count();
+    }
+
+    private static void assertFailedWith(Status.Code code, UniAssertSubscriber<?> subscriber) {
+        subscriber.assertFailedWith(StatusRuntimeException.class);
+        assertEquals(code, Status.fromThrowable(subscriber.getFailure()).getCode());
+    }
+
+    @Test
+    void fullQueueEvictsLowerPriorityWork() {
+        idleScheduler(1);
+
+        UniAssertSubscriber<String> background = submit(Lane.BACKGROUND, null);
+        UniAssertSubscriber<String> interactive = submit(Lane.INTERACTIVE, null);
+
+        assertFailedWith(Status.Code.RESOURCE_EXHAUSTED, background);
+        interactive.assertNotTerminated();
+        assertEquals(1, rejected("shed", "background"));
+        assertEquals(0, rejected("shed", "interactive"));
+    }
+
+    @Test
+    void fullQueueShedsNewWorkOfSameOrLowerPriority() {
+        idleScheduler(1);
+
+        UniAssertSubscriber<String> first = submit(Lane.REGISTRATION, null);
+        UniAssertSubscriber<String> sameLane = submit(Lane.REGISTRATION, null);
+        UniAssertSubscriber<String> lowerLane = submit(Lane.BACKGROUND, null);
+
+        first.assertNotTerminated();
+        assertFailedWith(Status.Code.RESOURCE_EXHAUSTED, sameLane);
+        assertFailedWith(Status.Code.RESOURCE_EXHAUSTED, lowerLane);
+        assertEquals(1, rejected("shed", "registration"));
+        assertEquals(1, rejected("shed", "background"));
+    }
+
+    @Test
+    void cancelledWorkFreesItsSlot() {
+        idleScheduler(1);
+
+        submit(Lane.BACKGROUND, null).cancel();
+        UniAssertSubscriber<String> next = submit(Lane.BACKGROUND, null);
+
+        next.assertNotTerminated();
+        assertEquals(0, rejected("shed", "background"));
+    }
+
+    @Test
+    void deadlineShorterThanOneHashIsRejected() {
+        idleScheduler(8);
+
+        UniAssertSubscriber<String> tooLate = submit(Lane.INTERACTIVE, Deadline.after(1, TimeUnit.MILLISECONDS));
+        UniAssertSubscriber<String> inTime = submit(Lane.INTERACTIVE, Deadline.after(1, TimeUnit.MINUTES));
+
+        assertFailedWith(Status.Code.DEADLINE_EXCEEDED, tooLate);
+        inTime.assertNotTerminated();
+        assertEquals(1, rejected("deadline", "interactive"));
+        assertEquals(0, rejected("shed", "interactive"));
+    }
+
+    @Test
+    void workersStartOnlyAtStartup() {
+        scheduler = new Argon2WorkScheduler(registry, Optional.of(1), 8, Duration.ofMillis(300));
+
+        UniAssertSubscriber<String> queued = submit(Lane.INTERACTIVE, null);
+        queued.assertNotTerminated();
+
+        scheduler.onStart(null);
+        queued.awaitItem().assertItem("INTERACTIVE");
+    }
+
+    @Test
+    void cancelledWhileQueuedIsNeverHashed() {
+        startedScheduler(Duration.ofMillis(300));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger hashed = new AtomicInteger();
+        blockWorker(release);
+
+        scheduler.submit(Lane.INTERACTIVE, null, waited -> hashed.incrementAndGet())
+                .subscribe().withSubscriber(UniAssertSubscriber.create())
+                .cancel();
+        UniAssertSubscriber<String> next = submit(Lane.INTERACTIVE, null);
+        release.countDown();
+
+        next.awaitItem();
+        assertEquals(0, hashed.get());
+    }
+
+    @Test
+    void deadlineRunningOutWhileQueuedSkipsTheHash() throws InterruptedException {
+        startedScheduler(Duration.ofSeconds(1));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger hashed = new AtomicInteger();
+        blockWorker(release);
+
+        // Enough time left at submission, not once the worker gets to it
+        UniAssertSubscriber<Integer> late = scheduler.submit(Lane.INTERACTIVE,
+                        Deadline.after(1200, TimeUnit.MILLISECONDS), waited -> hashed.incrementAndGet())
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+        late.assertNotTerminated();
+        Thread.sleep(600);
+        release.countDown();
+
+        late.awaitFailure();
+        assertFailedWith(Status.Code.DEADLINE_EXCEEDED, late);
+        assertEquals(0, hashed.get());
+        assertEquals(1, rejected("deadline", "interactive"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.veterinary.auth.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwksPublisherTest {
+
+    // RFC 7638, section 3.1
+    private static final String RFC_N = "0vx7agoebGcQSuuPiLJXZptN9nndrQmbXEps2aiAFbWhM78LhWx4cbbfAAt"
+            + "VT86zwu1RK7aPFFxuhDR1L6tSoc_BJECPebWKRXjBZCiFV4n3oknjhMstn6"
+            + "4tZ_2W-5JsGY4Hc5n9yBXArwl93lqt7_RN5w6Cf0h4QyQ5v-65YGjQR0_FD"
+            + "W2QvzqY368QQMicAtaSqzs8KJZgnYb9c7d0zgdAZHzu6qMQvRL5hajrn1n9"
+            + "1CbOpbISD08qNLyrdkt-bFTWhAI4vMQFh6WeZu0fM4lFd2NcRwr3XPksINH"
+            + "aQ-G_xBniIqbw0Ls1jF44-csFCur-kEgU8awapJzKnqDKgw";
+    private static final String RFC_E = "AQAB";
+    private static final String RFC_THUMBPRINT = "NzbLsXh8uDCcd-6MNwXF4W_7noWXFZAfHkxZsRGC9Xs";
+
+    private static RSAPublicKey key(String n, String e) throws Exception {
+        return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                new BigInteger(1, Base64.getUrlDecoder().decode(n)),
+                new BigInteger(1, Base64.getUrlDecoder().decode(e))));
+    }
+
+    @Test
+    void keyIdMatchesTheRfc7638Example() throws Exception {
+        assertEquals(RFC_THUMBPRINT, JwksPublisher.keyId(key(RFC_N, RFC_E)));
+    }
+
+    @Test
+    void modulusIsPublishedWithoutTheSignByte() throws Exception {
+        // The RFC modulus starts with 0xd2: BigInteger.toByteArray() prepends a zero byte
+        String jwks = JwksPublisher.toJwks(key(RFC_N, RFC_E), RFC_THUMBPRINT);
+
+        assertTrue(jwks.contains("\"n\":\"" + RFC_N + "\""), jwks);
+        assertTrue(jwks.contains("\"e\":\"" + RFC_E + "\""), jwks);
+    }
+
+    @Test
+    void jwksCarriesTheKeyIdAndAlgorithm() throws Exception {
+        String jwks = JwksPublisher.toJwks(key(RFC_N, RFC_E), RFC_THUMBPRINT);
+
+        assertTrue(jwks.startsWith("{\"keys\":[{"), jwks);
+        assertTrue(jwks.contains("\"kty\":\"RSA\""), jwks);
+        assertTrue(jwks.contains("\"alg\":\"RS256\""), jwks);
+        assertTrue(jwks.contains("\"kid\":\"" + RFC_THUMBPRINT + "\""), jwks);
+    }
+}
@@ -0,0 +1,97 @@
+package com.veterinary.auth.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtRevocationListTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+    private static final Duration LIFETIME = Duration.ofMinutes(15);
+
+    private final UUID credentialId = UUID.randomUUID();
+
+    private static JwtRevocationList list(Duration clockSkew) {
+        return new JwtRevocationList(null, null, Clock.fixed(NOW, ZoneOffset.UTC),
+                LIFETIME, Duration.ofMinutes(1), clockSkew, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void changeWithinASecondRevokesTokensOfThatSecond() {
+        JwtRevocationList list = list(Duration.ZERO);
+
+        list.revoke(credentialId, NOW.plusMillis(300));
+
+        assertTrue(list.isRevoked(credentialId, NOW.minusSeconds(60)));
+        assertTrue(list.isRevoked(credentialId, NOW));
+        assertFalse(list.isRevoked(credentialId, NOW.plusSeconds(1)));
+    }
+
+    @Test
+    void changeOnAWholeSecondIsNotRoundedUp() {
+        JwtRevocationList list = list(Duration.ZERO);
+
+        list.revoke(credentialId, NOW);
+
+        assertTrue(list.isRevoked(credentialId, NOW.minusSeconds(1)));
+        assertFalse(list.isRevoked(credentialId, NOW));
+    }
+
+    @Test
+    void clockSkewAllowanceMovesNotBeforeForward() {
+        JwtRevocationList list = list(Duration.ofSeconds(1));
+
+        list.revoke(credentialId, NOW.plusMillis(300));
+
+        assertTrue(list.isRevoked(credentialId, NOW.plusSeconds(1)));
+        assertFalse(list.isRevoked(credentialId, NOW.plusSeconds(2)));
+    }
+
+    @Test
+    void latestChangeWinsInAnyOrder() {
+        JwtRevocationList list = list(Duration.ZERO);
+
+        list.revoke(credentialId, NOW.plusSeconds(10));
+        list.revoke(credentialId, NOW);
+
+        assertTrue(list.isRevoked(credentialId, NOW.plusSeconds(9)));
+        assertFalse(list.isRevoked(credentialId, NOW.plusSeconds(10)));
+    }
+
+    @Test
+    void otherCredentialsAreUnaffected() {
+        JwtRevocationList list = list(Duration.ZERO);
+
+        list.revoke(credentialId, NOW);
+
+        assertFalse(list.isRevoked(UUID.randomUUID(), NOW.minusSeconds(60)));
+    }
+
+    @Test
+    void replayOlderThanOneLifetimeIsIgnored() {
+        JwtRevocationList list = list(Duration.ZERO);
+
+        list.revoke(credentialId, NOW.minus(LIFETIME).minusSeconds(1));
+
+        assertFalse(list.isRevoked(credentialId, NOW.minus(LIFETIME).minusSeconds(2)));
+    }
+
+    @Test
+    void pruneDropsEntriesOnlyOnceTheirTokensExpired() {
+        JwtRevocationList list = list(Duration.ZERO);
+        list.revoke(credentialId, NOW);
+
+        list.prune(NOW.plus(LIFETIME).minusSeconds(1));
+        assertTrue(list.isRevoked(credentialId, NOW.minusSeconds(1)));
+
+        list.prune(NOW.plus(LIFETIME).plus(Duration.ofMinutes(1)));
+        assertFalse(list.isRevoked(credentialId, NOW.minusSeconds(1)));
+    }
+}
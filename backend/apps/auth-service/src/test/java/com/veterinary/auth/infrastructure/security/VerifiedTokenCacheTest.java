@@ -0,0 +1,88 @@
+package com.veterinary.auth.infrastructure.security;
+
+import com.veterinary.auth.domain.event.CredentialChangeType;
+import com.veterinary.auth.domain.event.CredentialChanged;
+import com.veterinary.auth.infrastructure.security.VerifiedTokenCache.VerifiedToken;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+    private static final Duration LIFETIME = Duration.ofMinutes(15);
+
+    private static VerifiedToken verified(UUID credentialId) {
+        return new VerifiedToken(credentialId, "owner@example.com", NOW, NOW.plus(LIFETIME));
+    }
+
+    @Test
+    void hitReturnsTheVerifiedClaims() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        VerifiedToken verified = verified(UUID.randomUUID());
+
+        cache.put("token", verified);
+
+        assertSame(verified, cache.get("token", NOW));
+        assertNull(cache.get("other", NOW));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedFirst() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        cache.put("a", verified(UUID.randomUUID()));
+        cache.put("b", verified(UUID.randomUUID()));
+
+        // Touch "a" so "b" becomes the eldest
+        assertNotNull(cache.get("a", NOW));
+        cache.put("c", verified(UUID.randomUUID()));
+
+        assertNotNull(cache.get("a", NOW));
+        assertNull(cache.get("b", NOW));
+        assertNotNull(cache.get("c", NOW));
+    }
+
+    @Test
+    void entryIsAMissFromItsExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("token", verified(UUID.randomUUID()));
+
+        assertNotNull(cache.get("token", NOW.plus(LIFETIME).minusSeconds(1)));
+        assertNull(cache.get("token", NOW.plus(LIFETIME)));
+        // Removed on that access, not just hidden
+        assertNull(cache.get("token", NOW));
+    }
+
+    @Test
+    void sessionEndingChangeEvictsEveryTokenOfTheCredential() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        UUID suspended = UUID.randomUUID();
+        UUID bystander = UUID.randomUUID();
+        cache.put("first", verified(suspended));
+        cache.put("second", verified(suspended));
+        cache.put("third", verified(bystander));
+
+        cache.onCredentialChanged(new CredentialChanged(1, suspended, CredentialChangeType.SUSPENDED, NOW));
+
+        assertNull(cache.get("first", NOW));
+        assertNull(cache.get("second", NOW));
+        assertNotNull(cache.get("third", NOW));
+    }
+
+    @Test
+    void otherChangesKeepTheCredentialsTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        UUID credentialId = UUID.randomUUID();
+        cache.put("token", verified(credentialId));
+
+        cache.onCredentialChanged(new CredentialChanged(1, credentialId, CredentialChangeType.EMAIL_VERIFIED, NOW));
+
+        assertNotNull(cache.get("token", NOW));
+    }
+}